@@ -37,13 +37,10 @@ public class Boomerang {
 					gameBuilder.setRules(Integer.valueOf(argv[3]));
 					gameBuilder.setBotBehavior(Integer.valueOf(argv[4]));
 				}
+				gameBuilder.setWatchCards(true); // the host picks up fixed cards for the next game
 
 				GameClient gameClient = gameBuilder.getClient();
-				GameState gameState = new ShuffleAndDealState();
-				gameState.setGameClient(gameClient);
-				while (gameState != null){
-					gameState = gameState.runState();
-				}
+				GameStates.play(gameClient);
 			} else if (argv.length == 1){
 				GameJoin gameJoin = new GameJoin(argv[0]);
 				gameJoin.run();
@@ -1,5 +1,7 @@
 package Bot;
 
+import java.util.SplittableRandom;
+
 import Cards.Card;
 import Message.*;
 
@@ -34,4 +36,32 @@ public interface BotBehavior {
      * @return Returns the bots reponse to the question if it wants to score the optional points.
      */
     public Response scoreOptional(Choice Question);
+
+    /**
+     * Handles the bots choice to score the optional points of the round, without a Message.
+     * Used where no messages are sent, like in simulated games. Asks scoreOptional unless
+     * the behavior decides by itself.
+     * 
+     * @param optional The optional action the bot can score.
+     * @param numCards The number of drafted cards with the optional action.
+     * @return True if the bot wants to score the optional points.
+     */
+    public default boolean keepOptional(String optional, int numCards){
+        char[] choices = {'Y', 'N'};
+        Response response = this.scoreOptional(new Choice("Do you want keep " + optional + " (Y/N)", choices));
+        return "Y".equals(response.getResponse());
+    }
+
+    /**
+     * Gets a behavior that makes its random choices with the given random numbers, so that
+     * a game started from the same seed plays out the same way. Every bot gets random numbers
+     * of its own, so the behavior returned is only used by one bot. A behavior that does not
+     * make random choices returns itself.
+     * 
+     * @param random The random numbers of the bot.
+     * @return A behavior using the random numbers.
+     */
+    public default BotBehavior withRandom(SplittableRandom random){
+        return this;
+    }
 }
@@ -3,7 +3,8 @@ package Bot;
 import Cards.Card;
 import Message.*;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The standard behavior of a bot player. If no choice is made for the bots
@@ -14,6 +15,28 @@ import java.util.Random;
  * @since 1.0
  */
 public class StandardBehavior implements BotBehavior {
+    /**
+     * The random numbers used to choose cards, or null to use the random numbers of the
+     * current thread. Only used by one bot, since a SplittableRandom is not thread-safe.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Creates the standard behavior, choosing cards with the random numbers of the current thread.
+     */
+    public StandardBehavior(){
+        this.random = null;
+    }
+
+    /**
+     * Creates the standard behavior, choosing cards with the given random numbers.
+     * 
+     * @param random The random numbers of the bot.
+     */
+    public StandardBehavior(SplittableRandom random){
+        this.random = random;
+    }
+
     /**
      * Handles how a throw card is chosen in standard behavior. The card will be
      * chosen to give the highest possible points, meaning it will choose the card
@@ -45,9 +68,8 @@ public class StandardBehavior implements BotBehavior {
      * @return The random card the bot has chosen to draft.
      */
     public Card chooseCard(Card[] choices){
-        Random rnd = new Random();
-		Card choice = choices[rnd.nextInt(choices.length)];
-        return choice;
+        int choice = this.random != null ? this.random.nextInt(choices.length) : ThreadLocalRandom.current().nextInt(choices.length);
+        return choices[choice];
     }
 
     /**
@@ -62,4 +84,28 @@ public class StandardBehavior implements BotBehavior {
     public Response scoreOptional(Choice Question){ 
         return new Response(Question, "N");
     }
+
+    /**
+     * Gets a standard behavior that chooses cards with the given random numbers.
+     * 
+     * @param random The random numbers of the bot.
+     * @return A new standard behavior using the random numbers.
+     */
+    @Override
+    public BotBehavior withRandom(SplittableRandom random){
+        return new StandardBehavior(random);
+    }
+
+    /**
+     * Handles the choice to score the optional points without a Message. As with
+     * scoreOptional the optional points are never counted.
+     * 
+     * @param optional The optional action the bot can score.
+     * @param numCards The number of drafted cards with the optional action.
+     * @return False.
+     */
+    @Override
+    public boolean keepOptional(String optional, int numCards){
+        return false;
+    }
 }
@@ -1,5 +1,7 @@
 package Cards;
 
+import java.nio.ByteBuffer;
+
 import Exception.LoadCardsException;
 
 /**
@@ -18,6 +20,15 @@ public interface AbstractCardsFactory {
      */
     public Card createCard(String name) throws LoadCardsException;
 
+    /**
+     * Creates a new card from a compiled card catalog.
+     * 
+     * @param buffer The buffer of the card catalog, positioned at the start of the card.
+     * @return A Card with the information read from the buffer.
+     * @throws LoadCardsException If the card in the buffer is malformed.
+     */
+    public Card readCard(ByteBuffer buffer) throws LoadCardsException;
+
     /**
      * Gets the name of the folder where the cards are saved.
      * 
@@ -1,12 +1,21 @@
 package Cards;
 
-import java.io.FileNotFoundException; 
-import java.util.HashMap;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 import Exception.LoadCardsException;
 
 /**
  * An extention of the Card class that represents a card used in Boomerang Australia.
+ * The region, collection, animal and activity of a card are resolved to enums when
+ * the card is loaded, so that they can be compared without comparing strings.
  * 
  * @author Andreas Söderman
  * @version 1.0
@@ -14,38 +23,403 @@ import Exception.LoadCardsException;
  */
 public class AustraliaCard extends Card {
     /**
-     * Saves all information about a card used in Boomerang Australia
-     * including: the name of the tourist site, the name of the region,
-     * the name of the collection, the name of the animal, the name of the
-     * activity, the throw/catch number, and the letter associated with each site.
+     * The regions of Australia.
+     */
+    public enum Region {
+        WESTERN_AUSTRALIA("Western Australia"),
+        NORTHERN_TERRITORY("Northern Territory"),
+        QUEENSLAND("Queensland"),
+        SOUTH_AUSTRALIA("South Australia"),
+        NEW_SOUTH_WALES("New South Whales"),
+        VICTORIA("Victoria"),
+        TASMANIA("Tasmania");
+
+        private static final Region[] VALUES = values();
+        private final String name;
+
+        Region(String name){
+            this.name = name;
+        }
+
+        /**
+         * @return The name of the region, as written on the cards.
+         */
+        public String getName(){
+            return this.name;
+        }
+
+        /**
+         * @param name The name of a region, as written on the cards.
+         * @return The region with the name, or null if there is no such region.
+         */
+        public static Region get(String name){
+            for(Region value : VALUES){
+                if(value.name.equals(name)){
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The collections that can be found at a site. NONE is used for sites without a collection.
+     */
+    public enum Collection {
+        NONE(""),
+        LEAVES("Leaves"),
+        WILDFLOWERS("Wildflowers"),
+        SHELLS("Shells"),
+        SOUVENIRS("Souvenirs");
+
+        private static final Collection[] VALUES = values();
+        private final String name;
+
+        Collection(String name){
+            this.name = name;
+        }
+
+        /**
+         * @return The name of the collection, as written on the cards.
+         */
+        public String getName(){
+            return this.name;
+        }
+
+        /**
+         * @param name The name of a collection, as written on the cards.
+         * @return The collection with the name, or null if there is no such collection.
+         */
+        public static Collection get(String name){
+            for(Collection value : VALUES){
+                if(value.name.equals(name)){
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The animals that can be found at a site. NONE is used for sites without an animal.
+     */
+    public enum Animal {
+        NONE(""),
+        KANGAROOS("Kangaroos"),
+        EMUS("Emus"),
+        WOMBATS("Wombats"),
+        KOALAS("Koalas"),
+        PLATYPUSES("Platypuses");
+
+        private static final Animal[] VALUES = values();
+        private final String name;
+
+        Animal(String name){
+            this.name = name;
+        }
+
+        /**
+         * @return The name of the animal, as written on the cards.
+         */
+        public String getName(){
+            return this.name;
+        }
+
+        /**
+         * @param name The name of an animal, as written on the cards.
+         * @return The animal with the name, or null if there is no such animal.
+         */
+        public static Animal get(String name){
+            for(Animal value : VALUES){
+                if(value.name.equals(name)){
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The activities that can be done at a site. NONE is used for sites without an activity.
+     */
+    public enum Activity {
+        NONE(""),
+        INDIGENOUS_CULTURE("Indigenous Culture"),
+        SIGHTSEEING("Sightseeing"),
+        BUSHWALKING("Bushwalking"),
+        SWIMMING("Swimming");
+
+        private static final Activity[] VALUES = values();
+        private final String name;
+
+        Activity(String name){
+            this.name = name;
+        }
+
+        /**
+         * @return The name of the activity, as written on the cards.
+         */
+        public String getName(){
+            return this.name;
+        }
+
+        /**
+         * @param name The name of an activity, as written on the cards.
+         * @return The activity with the name, or null if there is no such activity.
+         */
+        public static Activity get(String name){
+            for(Activity value : VALUES){
+                if(value.name.equals(name)){
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reads the fields of a JSON file straight into a card, without creating any
+     * maps or using reflection. The fields can be in any order and unknown fields
+     * are skipped. Does not keep any state, so one instance can be used by all threads.
+     */
+    private static class JSONAdapter extends TypeAdapter<AustraliaCard> {
+        /**
+         * Reads a card from a JSON file.
+         * 
+         * @throws LoadCardsException A field is missing or malformed.
+         */
+        @Override
+        public AustraliaCard read(JsonReader in) throws IOException {
+            String name = null;
+            int siteID = -1, number = -1;
+            Region region = null;
+            Collection collection = null;
+            Animal animal = null;
+            Activity activity = null;
+
+            in.beginObject();
+            while(in.hasNext()){
+                String field = in.nextName();
+                try {
+                    switch(field){
+                        case "name":
+                            name = in.nextString();
+                            break;
+                        case "site":
+                            siteID = getSiteID(field, in.nextString());
+                            break;
+                        case "number":
+                            number = getNumber(field, in.nextString());
+                            break;
+                        case "region":
+                            region = resolve(field, Region.get(in.nextString()));
+                            break;
+                        case "collection":
+                            collection = resolve(field, Collection.get(in.nextString()));
+                            break;
+                        case "animal":
+                            animal = resolve(field, Animal.get(in.nextString()));
+                            break;
+                        case "activity":
+                            activity = resolve(field, Activity.get(in.nextString()));
+                            break;
+                        default:
+                            in.skipValue();
+                    }
+                } catch (IllegalStateException | NumberFormatException e) { // wrong type or not a number
+                    throw new LoadCardsException("the field \"" + field + "\" is malformed (" + e.getMessage() + ")", e);
+                }
+            }
+            in.endObject();
+
+            requireField("name", name);
+            requireField("site", siteID < 0 ? null : siteID);
+            requireField("number", number < 0 ? null : number);
+            requireField("region", region);
+            requireField("collection", collection);
+            requireField("animal", animal);
+            requireField("activity", activity);
+
+            return new AustraliaCard(name, CardCodec.pack(siteID, number, region, collection, animal, activity));
+        }
+
+        /**
+         * Writes a card in the same format as its JSON file.
+         */
+        @Override
+        public void write(JsonWriter out, AustraliaCard card) throws IOException {
+            out.beginObject();
+            out.name("name").value(card.getName());
+            out.name("site").value(String.valueOf(card.getSite()));
+            out.name("region").value(card.getRegion());
+            out.name("number").value(String.valueOf(card.getNumber()));
+            out.name("collection").value(card.getCollection());
+            out.name("animal").value(card.getAnimal());
+            out.name("activity").value(card.getOptional());
+            out.endObject();
+        }
+
+        /**
+         * Makes sure that the value of a field was recognised.
+         * 
+         * @param <T> The type of the value.
+         * @param field The name of the field.
+         * @param value The value, or null if it was not recognised.
+         * @return The value.
+         * @throws LoadCardsException The value was not recognised.
+         */
+        private static <T> T resolve(String field, T value) throws LoadCardsException{
+            if(value == null){
+                throw new LoadCardsException("the field \"" + field + "\" has an unknown value");
+            }
+            return value;
+        }
+
+        /**
+         * Makes sure that a field was in the file.
+         * 
+         * @param field The name of the field.
+         * @param value The value of the field, or null if it was missing.
+         * @throws LoadCardsException The field was missing.
+         */
+        private static void requireField(String field, Object value) throws LoadCardsException{
+            if(value == null){
+                throw new LoadCardsException("the field \"" + field + "\" is missing");
+            }
+        }
+    }
+
+    /**
+     * The letters of all sites in Boomerang Australia. The position of a site in
+     * the string is used as the ID of the card.
+     */
+    static final String SITES = "ABCDEFGHIJKLMNOPQRSTUVWXYZ*-";
+
+    /**
+     * Saves all information about a card used in Boomerang Australia. The name
+     * of the tourist site is stored as it is, everything else (the letter of the site,
+     * the throw/catch number, the region, the collection, the animal and the activity)
+     * is packed into one int by the CardCodec.
+     */
+    private String name;
+    private int code;
+
+    /**
+     * Reads cards for Boomerang Australia from their JSON files. Shared by all threads.
+     */
+    private static final TypeAdapter<AustraliaCard> JSON_ADAPTER = new JSONAdapter();
+
+    /**
+     * Creates a card from information that has already been loaded.
+     * Used when reading cards from JSON files and compiled card catalogs.
      */
-    private String name, region, collection, animal, activity;
-    private int number;
-    private char site;
+    AustraliaCard(String name, int code){
+        this.name = name;
+        this.code = code;
+    }
 
     /**
      * Loads a the information about a card.
      * 
      * @param name The name of the JSON file with the card information.
-     * @throws LoadCardsException The card could not be loaded.
+     * @return The card.
+     * @throws LoadCardsException The card could not be loaded. The message tells which
+     * file and which field caused the problem.
+     */
+    public static AustraliaCard load(String name) throws LoadCardsException{
+        return readCard("resources/Card/AustraliaCards/" + name, JSON_ADAPTER);
+    }
+
+    /**
+     * Loads the information about a card from a JSON file in any folder.
+     * 
+     * @param file The path to the JSON file with the card information.
+     * @return The card.
+     * @throws LoadCardsException The card could not be loaded. The message tells which
+     * file and which field caused the problem.
+     */
+    public static AustraliaCard load(Path file) throws LoadCardsException{
+        return readCard(file.toString(), JSON_ADAPTER);
+    }
+
+    /**
+     * Gets the ID for a site.
+     * 
+     * @param field The name of the field the site was read from.
+     * @param site The letter of the site.
+     * @return The ID of the site.
+     * @throws LoadCardsException The value is not the letter of a site in Boomerang Australia.
      */
-    public AustraliaCard(String name) throws LoadCardsException{
-        String path = "resources/Card/AustraliaCards/"+ name;
+    private static int getSiteID(String field, String site) throws LoadCardsException{
+        int id = site.length() == 1 ? SITES.indexOf(site.charAt(0)) : -1;
+        if(id < 0){
+            throw new LoadCardsException("the field \"" + field + "\" is not a site in Boomerang Australia (\"" + site + "\")");
+        }
+        return id;
+    }
+
+    /**
+     * Makes sure that a throw/catch number fits in a packed card.
+     * 
+     * @param field The name of the field the number was read from.
+     * @param number The throw/catch number.
+     * @return The throw/catch number.
+     * @throws LoadCardsException The number is not between 0 and 7.
+     */
+    private static int getNumber(String field, String number) throws LoadCardsException{
+        int value = Integer.parseInt(number);
+        if(value < 0 || value > CardCodec.FIELD_MASK){
+            throw new LoadCardsException("the field \"" + field + "\" is not a throw/catch number in Boomerang Australia (" + value + ")");
+        }
+        return value;
+    }
 
-        HashMap<String, String> json = null;
+    /**
+     * Reads a card from a compiled card catalog.
+     * 
+     * @param buffer The buffer of the card catalog, positioned at the start of the card.
+     * @return The card that was read.
+     * @throws LoadCardsException The card in the catalog is malformed.
+     */
+    static AustraliaCard readCard(ByteBuffer buffer) throws LoadCardsException {
         try {
-            json = getCardInfo(path);
-        } catch (FileNotFoundException e) {
-            throw new LoadCardsException(e);
+            String name = CardCatalog.readString(buffer);
+            int code = buffer.getInt();
+            if(CardCodec.site(code) >= SITES.length() || CardCodec.regionOrdinal(code) >= Region.VALUES.length
+                || CardCodec.collectionOrdinal(code) >= Collection.VALUES.length || CardCodec.animalOrdinal(code) >= Animal.VALUES.length
+                || CardCodec.activityOrdinal(code) >= Activity.VALUES.length){
+                throw new LoadCardsException("The card catalog contains a malformed card (" + name + ").");
+            }
+            return new AustraliaCard(name, code);
+        } catch (BufferUnderflowException e) {
+            throw new LoadCardsException("The card catalog ended in the middle of a card.", e);
         }
+    }
 
-        this.name = json.get("name");
-        this.region = json.get("region");
-        this.collection = json.get("collection");
-        this.animal = json.get("animal");
-        this.activity = json.get("activity");
-        this.number = Integer.parseInt(json.get("number"));
-        this.site = json.get("site").charAt(0);
+    /**
+     * Writes the card to a compiled card catalog.
+     */
+    public void writeCard(DataOutputStream out) throws IOException {
+        CardCatalog.writeString(out, this.name);
+        out.writeInt(this.code);
+    }
+
+    /**
+     * Gets all information about the card, except its name, packed into an int.
+     * 
+     * @return The packed card. Use the CardCodec to read it.
+     */
+    public int getCode(){
+        return this.code;
+    }
+
+    /**
+     * Gets the ID of the card, which is the index of its site in the order A-Z, *, -.
+     * 
+     * @return The ID of the card.
+     */
+    public int getID(){
+        return CardCodec.site(this.code);
     }
 
     /**
@@ -63,7 +437,16 @@ public class AustraliaCard extends Card {
      * @return The name of the region.
      */
     public String getRegion(){
-        return this.region;
+        return CardCodec.region(this.code).getName();
+    }
+
+    /**
+     * Gets the region.
+     * 
+     * @return The region of the tourist site.
+     */
+    public Region getRegionType(){
+        return CardCodec.region(this.code);
     }
 
     /**
@@ -73,7 +456,16 @@ public class AustraliaCard extends Card {
      * it returns "".
      */
     public String getCollection(){
-        return this.collection;
+        return CardCodec.collection(this.code).getName();
+    }
+
+    /**
+     * Gets the collection.
+     * 
+     * @return The collection of the tourist site, or Collection.NONE if there is none.
+     */
+    public Collection getCollectionType(){
+        return CardCodec.collection(this.code);
     }
 
     /**
@@ -83,7 +475,16 @@ public class AustraliaCard extends Card {
      * it returns "".
      */
     public String getAnimal(){
-        return this.animal;
+        return CardCodec.animal(this.code).getName();
+    }
+
+    /**
+     * Gets the animal.
+     * 
+     * @return The animal of the tourist site, or Animal.NONE if there is none.
+     */
+    public Animal getAnimalType(){
+        return CardCodec.animal(this.code);
     }
 
     /**
@@ -93,7 +494,16 @@ public class AustraliaCard extends Card {
      * it returns "".
      */
     public String getOptional(){
-        return this.activity;
+        return CardCodec.activity(this.code).getName();
+    }
+
+    /**
+     * Gets the activity.
+     * 
+     * @return The activity of the tourist site, or Activity.NONE if there is none.
+     */
+    public Activity getActivityType(){
+        return CardCodec.activity(this.code);
     }
 
     /**
@@ -109,7 +519,7 @@ public class AustraliaCard extends Card {
      * @return The throw/catch number for the card.
      */
     public int getNumber(){
-        return this.number;
+        return CardCodec.number(this.code);
     }
 
     /**
@@ -118,7 +528,7 @@ public class AustraliaCard extends Card {
      * @return The site character.
      */
     public char getSite(){
-        return this.site;
+        return SITES.charAt(CardCodec.site(this.code));
     }
 
     /**
@@ -127,6 +537,6 @@ public class AustraliaCard extends Card {
      * @return All information about the card.
      */
     public String getAllInfo(){
-        return "Name: " + this.name + ", Region: " + this.region + ", Collection: " + this.collection + ", Animal: " + this.animal + ", Activity: " + this.activity + ", Number: " + this.number + ", Site: " + this.site;
+        return "Name: " + this.name + ", Region: " + this.getRegion() + ", Collection: " + this.getCollection() + ", Animal: " + this.getAnimal() + ", Activity: " + this.getOptional() + ", Number: " + this.getNumber() + ", Site: " + this.getSite();
     }
 }
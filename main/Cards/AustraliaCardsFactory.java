@@ -1,5 +1,7 @@
 package Cards;
 
+import java.nio.ByteBuffer;
+
 import Exception.LoadCardsException;
 
 /**
@@ -19,7 +21,18 @@ public class AustraliaCardsFactory implements AbstractCardsFactory {
      */
     @Override
     public Card createCard(String name) throws LoadCardsException {
-        return new AustraliaCard(name);
+        return AustraliaCard.load(name);
+    }
+
+    /**
+     * Creates a new Card for Boomerang Australia from a compiled card catalog.
+     * 
+     * @param buffer The buffer of the card catalog.
+     * @return A card for Boomerang Australia.
+     */
+    @Override
+    public Card readCard(ByteBuffer buffer) throws LoadCardsException {
+        return AustraliaCard.readCard(buffer);
     }
 
     /**
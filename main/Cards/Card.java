@@ -1,11 +1,14 @@
 package Cards;
 
 import java.io.BufferedReader;
-import java.io.FileNotFoundException;
+import java.io.DataOutputStream;
 import java.io.FileReader;
-import java.util.HashMap;
+import java.io.IOException;
 
-import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import Exception.LoadCardsException;
 
 /**
  * The main class for cards. This class provides a framework for other types of cards and
@@ -19,19 +22,53 @@ public abstract class Card {
 
     /**
      * This method is used by to load a JSON file that contains the information about a specific card.
-     *  
+     * The file is streamed straight into the card by the TypeAdapter of the edition, which does not
+     * keep any state of its own and can be shared by all threads loading cards.
      * 
+     * @param <T> The type of card being loaded.
      * @param path The path to the JSON file that is being read.
-     * @return     Returns a HashMap that containing the information from the JSON file.
-     * @throws FileNotFoundException If the JSON file can not be found.
+     * @param adapter The TypeAdapter that reads the fields of the card.
+     * @return     Returns the card with the information from the JSON file.
+     * @throws LoadCardsException If the JSON file can not be read or one of its fields is malformed.
+     * The message contains the name of the file.
      */
-    HashMap<String, String> getCardInfo(String path) throws FileNotFoundException{
-        BufferedReader bufferedReader = new BufferedReader(new FileReader(path));
+    static <T extends Card> T readCard(String path, TypeAdapter<T> adapter) throws LoadCardsException{
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(path)))) {
+            return adapter.read(reader);
+        } catch (IOException | IllegalStateException e) { // also a malformed field, a LoadCardsException
+            throw new LoadCardsException("Could not load the card " + path + ": " + e.getMessage(), e);
+        }
+    }
 
-        Gson gson = new Gson();
-        HashMap<String, String> json = gson.fromJson(bufferedReader, HashMap.class);
+    /**
+     * Get function for the ID of a card. The ID is unique for each card within an edition
+     * and stays the same every time the card is loaded.
+     * @return The ID of the card.
+     */
+    public abstract int getID();
+
+    /**
+     * Two cards are equal if they are from the same edition and have the same ID.
+     * @param other The object being compared to the card.
+     * @return True if the other object is the same card.
+     */
+    @Override
+    public boolean equals(Object other){
+        if(this == other){
+            return true;
+        }
+        if(other == null || this.getClass() != other.getClass()){
+            return false;
+        }
+        return this.getID() == ((Card)other).getID();
+    }
 
-        return json;
+    /**
+     * @return The hash code of the card, which is its ID.
+     */
+    @Override
+    public int hashCode(){
+        return this.getID();
     }
 
     /**
@@ -69,4 +106,14 @@ public abstract class Card {
      * @return A formated string with all information about a card.
      */
     public abstract String getAllInfo();
+
+    /**
+     * Writes the information about a card to a compiled card catalog. The card must be
+     * possible to recreate from what is written using the readCard function of the
+     * abstract card factory for the same edition.
+     * 
+     * @param out The stream for the card catalog being compiled.
+     * @throws IOException If the card could not be written.
+     */
+    public abstract void writeCard(DataOutputStream out) throws IOException;
 }
@@ -0,0 +1,287 @@
+package Cards;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import Exception.BoomerangIOException;
+import Exception.LoadCardsException;
+
+/**
+ * Loads the cards for an edition of Boomerang. The cards are read from a compiled
+ * card catalog (one binary file per edition, created by the CardCatalogCompiler)
+ * which is memory-mapped and decoded directly from the buffer. The JSON files in
+ * the folder of the edition are the source of the catalog and are used instead if
+ * the catalog is missing or older than the JSON files. Cards are loaded on a small
+ * pool of background threads so that a game can do other things while they load.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class CardCatalog {
+    /**
+     * The first four bytes of every card catalog ("BMRC").
+     */
+    static final int MAGIC = 0x424D5243;
+
+    /**
+     * The version of the catalog format. Catalogs with another version are ignored.
+     */
+    static final short VERSION = 3;
+
+    /**
+     * The folder where the cards for all editions are stored.
+     */
+    static final String CARD_FOLDER = "resources/Card/";
+
+    /**
+     * The threads used to load cards. The number of threads is bounded by the number
+     * of processors, and the threads never stop the program from exiting.
+     */
+    private static final ExecutorService loader = Executors.newFixedThreadPool(Math.min(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+        Thread thread = new Thread(runnable, "CardLoader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Loads all cards for an edition, sorted by the name of their JSON file.
+     * Blocks until all cards have been loaded.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return The cards for the edition.
+     * @throws BoomerangIOException Thrown when the folder of the edition could not be read.
+     * @throws LoadCardsException Thrown when a card could not be loaded.
+     */
+    public static ArrayList<Card> loadCards(AbstractCardsFactory factory) throws BoomerangIOException, LoadCardsException{
+        return await(loadCardsAsync(factory));
+    }
+
+    /**
+     * Starts loading all cards for an edition without waiting for them. If the card
+     * catalog can not be used the JSON files are parsed in parallel.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return A future that completes with the cards for the edition, sorted by the name of
+     * their JSON file, or with the exception that stopped them from being loaded.
+     */
+    public static CompletableFuture<ArrayList<Card>> loadCardsAsync(AbstractCardsFactory factory){
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                ArrayList<Path> sources = getSources(factory);
+                ArrayList<Card> cards = readCatalog(factory, getCatalogPath(factory), getSourceStamp(sources));
+
+                if(cards != null){
+                    return CompletableFuture.completedFuture(cards);
+                }
+                return readSources(factory, sources); // catalog is missing or out of date
+            } catch (BoomerangIOException e) {
+                throw new CompletionException(e);
+            }
+        }, loader).thenCompose(cards -> cards);
+    }
+
+    /**
+     * Waits for cards that are being loaded.
+     * 
+     * @param <T> The type of the loaded cards.
+     * @param future The future for the cards being loaded.
+     * @return The loaded cards.
+     * @throws BoomerangIOException Thrown when the cards could not be read.
+     * @throws LoadCardsException Thrown when a card could not be loaded.
+     */
+    public static <T> T await(CompletableFuture<T> future) throws BoomerangIOException, LoadCardsException{
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof LoadCardsException){
+                throw (LoadCardsException)cause;
+            } else if(cause instanceof BoomerangIOException){
+                throw (BoomerangIOException)cause;
+            }
+            throw new LoadCardsException(cause);
+        }
+    }
+
+    /**
+     * Parses the JSON files of an edition in parallel.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param sources The JSON files of the edition.
+     * @return A future that completes with the cards, in the same order as the JSON files.
+     */
+    private static CompletableFuture<ArrayList<Card>> readSources(AbstractCardsFactory factory, ArrayList<Path> sources){
+        ArrayList<CompletableFuture<Card>> parsing = new ArrayList<CompletableFuture<Card>>();
+
+        for(Path source : sources){
+            String name = source.getFileName().toString();
+            parsing.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return factory.createCard(name);
+                } catch (LoadCardsException e) {
+                    throw new CompletionException(e);
+                }
+            }, loader));
+        }
+
+        return CompletableFuture.allOf(parsing.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            ArrayList<Card> cards = new ArrayList<Card>(parsing.size());
+            for(CompletableFuture<Card> card : parsing){
+                cards.add(card.join());
+            }
+            return cards;
+        });
+    }
+
+    /**
+     * Gets the path to the compiled card catalog of an edition.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return The path to the card catalog.
+     */
+    public static Path getCatalogPath(AbstractCardsFactory factory){
+        return getCatalogPath(factory, Paths.get(CARD_FOLDER));
+    }
+
+    /**
+     * Gets the path to the compiled card catalog of an edition in a folder.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param folder The folder of the card catalog.
+     * @return The path to the card catalog.
+     */
+    public static Path getCatalogPath(AbstractCardsFactory factory, Path folder){
+        return folder.resolve(factory.getFolderNameCards() + ".catalog");
+    }
+
+    /**
+     * Gets the JSON files for all cards of an edition, sorted by file name so that
+     * the cards are always loaded in the same order.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return The paths to all JSON files of the edition.
+     * @throws BoomerangIOException Thrown when the folder could not be read.
+     */
+    static ArrayList<Path> getSources(AbstractCardsFactory factory) throws BoomerangIOException{
+        Path dirName = Paths.get(CARD_FOLDER + factory.getFolderNameCards());
+        ArrayList<Path> sources = new ArrayList<Path>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirName, "*.{JSON,json}")) {
+            for (Path entry : stream) {
+                sources.add(entry);
+            }
+        } catch (IOException e) {
+            throw new BoomerangIOException(e);
+        }
+
+        Collections.sort(sources);
+        return sources;
+    }
+
+    /**
+     * Calculates a stamp for the JSON files of an edition. The stamp changes if a file
+     * is added, removed, renamed or modified, and is used to tell if a catalog is out of date.
+     * 
+     * @param sources The JSON files of the edition.
+     * @return The stamp for the JSON files.
+     * @throws BoomerangIOException Thrown when a file could not be read.
+     */
+    static long getSourceStamp(ArrayList<Path> sources) throws BoomerangIOException{
+        long stamp = sources.size();
+
+        try {
+            for(Path source : sources){
+                stamp = 31 * stamp + source.getFileName().toString().hashCode();
+                stamp = 31 * stamp + Files.getLastModifiedTime(source).toMillis();
+                stamp = 31 * stamp + Files.size(source);
+            }
+        } catch (IOException e) {
+            throw new BoomerangIOException(e);
+        }
+
+        return stamp;
+    }
+
+    /**
+     * Reads the cards from a compiled card catalog of an edition in a folder, if the catalog
+     * is up to date with the JSON files of the edition.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param folder The folder of the card catalog.
+     * @return The cards in the catalog, or null if the catalog is missing, out of date or broken.
+     * @throws BoomerangIOException Thrown when the JSON files of the edition could not be read.
+     */
+    public static ArrayList<Card> readCatalog(AbstractCardsFactory factory, Path folder) throws BoomerangIOException{
+        return readCatalog(factory, getCatalogPath(factory, folder), getSourceStamp(getSources(factory)));
+    }
+
+    /**
+     * Reads the cards from a compiled card catalog of an edition.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param catalogPath The path to the card catalog.
+     * @param sourceStamp The stamp of the current JSON files of the edition.
+     * @return The cards in the catalog, or null if the catalog is missing, out of date or broken.
+     */
+    private static ArrayList<Card> readCatalog(AbstractCardsFactory factory, Path catalogPath, long sourceStamp){
+        if(!Files.isRegularFile(catalogPath)){
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(catalogPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if(buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.getLong() != sourceStamp){
+                return null;
+            }
+
+            int numCards = buffer.getInt();
+            ArrayList<Card> cards = new ArrayList<Card>(numCards);
+            for(int i = 0; i < numCards; i++){
+                cards.add(factory.readCard(buffer));
+            }
+
+            return cards;
+        } catch (IOException | BufferUnderflowException e) { // a broken catalog is treated like a missing one
+            return null;
+        }
+    }
+
+    /**
+     * Writes a string to a card catalog as its length followed by its UTF-8 bytes.
+     * 
+     * @param out The stream for the card catalog.
+     * @param str The string being written.
+     * @throws IOException If the string could not be written.
+     */
+    static void writeString(DataOutputStream out, String str) throws IOException{
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString from a card catalog.
+     * 
+     * @param buffer The buffer of the card catalog.
+     * @return The string that was read.
+     */
+    static String readString(ByteBuffer buffer){
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,92 @@
+package Cards;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+
+import Exception.BoomerangIOException;
+import Exception.LoadCardsException;
+
+/**
+ * Compiles the JSON files of an edition into a card catalog that can be loaded
+ * by the CardCatalog. Should be run every time the JSON files for the cards are
+ * changed, otherwise the game will fall back to reading the JSON files.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class CardCatalogCompiler {
+    /**
+     * Compiles the card catalogs for all editions of Boomerang.
+     * 
+     * @param argv Not used.
+     */
+    public static void main(String argv[]) {
+        AbstractCardsFactory[] editions = {new AustraliaCardsFactory()};
+
+        try {
+            for(AbstractCardsFactory edition : editions){
+                Path catalog = compile(edition);
+                System.out.println("Compiled " + catalog);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Compiles the card catalog for an edition. The catalog is first written to a
+     * temporary file which then replaces the old catalog, so that a game being started
+     * at the same time never reads a half written catalog.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return The path to the compiled card catalog.
+     * @throws BoomerangIOException Thrown when the catalog could not be written.
+     * @throws LoadCardsException Thrown when one of the JSON files could not be loaded.
+     */
+    public static Path compile(AbstractCardsFactory factory) throws BoomerangIOException, LoadCardsException{
+        return compile(factory, Paths.get(CardCatalog.CARD_FOLDER));
+    }
+
+    /**
+     * Compiles the card catalog for an edition into a folder, the same way as compile
+     * does for the folder the game loads its cards from.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param folder The folder the catalog is written to.
+     * @return The path to the compiled card catalog.
+     * @throws BoomerangIOException Thrown when the catalog could not be written.
+     * @throws LoadCardsException Thrown when one of the JSON files could not be loaded.
+     */
+    public static Path compile(AbstractCardsFactory factory, Path folder) throws BoomerangIOException, LoadCardsException{
+        ArrayList<Path> sources = CardCatalog.getSources(factory);
+        long sourceStamp = CardCatalog.getSourceStamp(sources);
+        Path catalogPath = CardCatalog.getCatalogPath(factory, folder);
+        Path tempPath = catalogPath.resolveSibling(catalogPath.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(CardCatalog.MAGIC);
+            out.writeShort(CardCatalog.VERSION);
+            out.writeLong(sourceStamp);
+            out.writeInt(sources.size());
+            for(Path source : sources){
+                factory.createCard(source.getFileName().toString()).writeCard(out);
+            }
+        } catch (LoadCardsException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new BoomerangIOException(e);
+        }
+
+        try {
+            Files.move(tempPath, catalogPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new BoomerangIOException(e);
+        }
+
+        return catalogPath;
+    }
+}
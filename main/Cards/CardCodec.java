@@ -0,0 +1,183 @@
+package Cards;
+
+import Cards.AustraliaCard.Activity;
+import Cards.AustraliaCard.Animal;
+import Cards.AustraliaCard.Collection;
+import Cards.AustraliaCard.Region;
+
+/**
+ * Converts cards for Boomerang Australia to and from a single int. Everything about
+ * a card except its name is stored in the int, so hands, drafts and decks can be
+ * stored as int arrays and be scored without looking at the Card objects.
+ *
+ * The bits of the int are used as follows (from the lowest bit):
+ * site ID (5 bits), throw/catch number (3 bits), region (3 bits), collection (3 bits),
+ * animal (3 bits) and activity (3 bits). The enums are stored by their ordinal.
+ *
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class CardCodec {
+    /**
+     * The position of each field in the int and the masks of the fields after shifting,
+     * for code that extracts the fields of many cards at once.
+     */
+    public static final int SITE_SHIFT = 0, NUMBER_SHIFT = 5, REGION_SHIFT = 8, COLLECTION_SHIFT = 11, ANIMAL_SHIFT = 14, ACTIVITY_SHIFT = 17;
+    public static final int SITE_MASK = 0x1F, FIELD_MASK = 0x7;
+
+    /**
+     * The enums, in the order of their ordinals. Used to turn ordinals back into enums.
+     */
+    private static final Region[] REGIONS = Region.values();
+    private static final Collection[] COLLECTIONS = Collection.values();
+    private static final Animal[] ANIMALS = Animal.values();
+    private static final Activity[] ACTIVITIES = Activity.values();
+
+    /**
+     * Packs all information about a card except its name into an int.
+     *
+     * @param siteID The ID of the site (0-31).
+     * @param number The throw/catch number (0-7).
+     * @param region The region of the site.
+     * @param collection The collection of the site.
+     * @param animal The animal of the site.
+     * @param activity The activity of the site.
+     * @return The packed card.
+     */
+    public static int pack(int siteID, int number, Region region, Collection collection, Animal animal, Activity activity){
+        return (siteID << SITE_SHIFT) | (number << NUMBER_SHIFT) | (region.ordinal() << REGION_SHIFT)
+            | (collection.ordinal() << COLLECTION_SHIFT) | (animal.ordinal() << ANIMAL_SHIFT) | (activity.ordinal() << ACTIVITY_SHIFT);
+    }
+
+    /**
+     * Gets the packed int of a card.
+     *
+     * @param card A card for Boomerang Australia.
+     * @return The packed card.
+     */
+    public static int encode(Card card){
+        return ((AustraliaCard)card).getCode();
+    }
+
+    /**
+     * Gets the packed ints of several cards.
+     *
+     * @param cards Cards for Boomerang Australia.
+     * @return The packed cards, in the same order.
+     */
+    public static int[] encode(Card[] cards){
+        int[] packed = new int[cards.length];
+        for(int i = 0; i < cards.length; i++){
+            packed[i] = encode(cards[i]);
+        }
+        return packed;
+    }
+
+    /**
+     * Gets the card for a packed int from the snapshot of the cards a game is using,
+     * so a game keeps getting its own cards even if the cards have been reloaded.
+     *
+     * @param packed A packed card.
+     * @param snapshot The cards of Boomerang Australia used by the game.
+     * @return The card, or null if the snapshot has no card with the site of the packed card.
+     */
+    public static AustraliaCard decode(int packed, CardSnapshot snapshot){
+        return (AustraliaCard)snapshot.getCard(site(packed));
+    }
+
+    /**
+     * Gets the cards for several packed ints from the snapshot of the cards a game is using.
+     *
+     * @param packed Packed cards.
+     * @param snapshot The cards of Boomerang Australia used by the game.
+     * @return The cards, in the same order.
+     */
+    public static Card[] decode(int[] packed, CardSnapshot snapshot){
+        Card[] cards = new Card[packed.length];
+        for(int i = 0; i < packed.length; i++){
+            cards[i] = decode(packed[i], snapshot);
+        }
+        return cards;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The ID of the site of the card.
+     */
+    public static int site(int packed){
+        return (packed >>> SITE_SHIFT) & SITE_MASK;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The throw/catch number of the card.
+     */
+    public static int number(int packed){
+        return (packed >>> NUMBER_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The ordinal of the region of the card.
+     */
+    public static int regionOrdinal(int packed){
+        return (packed >>> REGION_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The ordinal of the collection of the card.
+     */
+    public static int collectionOrdinal(int packed){
+        return (packed >>> COLLECTION_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The ordinal of the animal of the card.
+     */
+    public static int animalOrdinal(int packed){
+        return (packed >>> ANIMAL_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The ordinal of the activity of the card.
+     */
+    public static int activityOrdinal(int packed){
+        return (packed >>> ACTIVITY_SHIFT) & FIELD_MASK;
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The region of the card.
+     */
+    public static Region region(int packed){
+        return REGIONS[regionOrdinal(packed)];
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The collection of the card.
+     */
+    public static Collection collection(int packed){
+        return COLLECTIONS[collectionOrdinal(packed)];
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The animal of the card.
+     */
+    public static Animal animal(int packed){
+        return ANIMALS[animalOrdinal(packed)];
+    }
+
+    /**
+     * @param packed A packed card.
+     * @return The activity of the card.
+     */
+    public static Activity activity(int packed){
+        return ACTIVITIES[activityOrdinal(packed)];
+    }
+}
@@ -0,0 +1,196 @@
+package Cards;
+
+import java.util.Arrays;
+import java.util.List;
+
+import Cards.AustraliaCard.Activity;
+import Cards.AustraliaCard.Animal;
+import Cards.AustraliaCard.Collection;
+import Cards.AustraliaCard.Region;
+import Exception.LoadCardsException;
+
+/**
+ * Answers questions like "which cards have Koalas" or "which sites are in Queensland"
+ * without looking at the cards. Every value of every attribute is mapped to a bitmask
+ * where bit n is set if the card with ID n has the value, so counting the cards with a
+ * value in a set of cards is a single AND and a Long.bitCount. An index is built once
+ * for every CardSnapshot and never changes.
+ * 
+ * The masks for regions, collections, animals and activities are only filled for
+ * the cards of Boomerang Australia, other editions get empty masks for them.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class CardIndex {
+    /**
+     * The highest ID a card can have, since the masks are stored in a long.
+     */
+    public static final int MAX_ID = Long.SIZE - 1;
+
+    /**
+     * The cards, stored at the position of their ID.
+     */
+    private final Card[] cardsByID;
+
+    /**
+     * The ID of the card for each site, stored at the position of the character of the site.
+     * Sites without a card have the ID -1.
+     */
+    private final int[] idBySite = new int[128];
+
+    /**
+     * All cards in the index.
+     */
+    private final long allCards;
+
+    /**
+     * The cards with each value of an attribute, stored by the value (ordinal for the enums).
+     */
+    private final long[] byNumber = new long[CardCodec.FIELD_MASK + 1];
+    private final long[] byRegion = new long[Region.values().length];
+    private final long[] byCollection = new long[Collection.values().length];
+    private final long[] byAnimal = new long[Animal.values().length];
+    private final long[] byActivity = new long[Activity.values().length];
+
+    /**
+     * Builds the index for the cards of an edition.
+     * 
+     * @param cards The cards of the edition.
+     * @param cardsByID The cards, stored at the position of their ID.
+     * @throws LoadCardsException Thrown when a card has an ID that does not fit in a mask,
+     * or two sites use the same character.
+     */
+    CardIndex(List<Card> cards, Card[] cardsByID) throws LoadCardsException{
+        this.cardsByID = cardsByID;
+        Arrays.fill(this.idBySite, -1);
+
+        long all = 0;
+        for(Card card : cards){
+            int id = card.getID();
+            char site = card.getSite();
+            if(id > MAX_ID){
+                throw new LoadCardsException("The card " + card.getName() + " has the ID " + id + ", but the highest ID a card can have is " + MAX_ID + ".");
+            }
+            if(site >= this.idBySite.length || this.idBySite[site] != -1){
+                throw new LoadCardsException("The site of the card " + card.getName() + " (" + site + ") is not unique.");
+            }
+
+            long bit = 1L << id;
+            all |= bit;
+            this.idBySite[site] = id;
+            this.byNumber[card.getNumber() & CardCodec.FIELD_MASK] |= bit;
+
+            if(card instanceof AustraliaCard){
+                int code = ((AustraliaCard)card).getCode();
+                this.byRegion[CardCodec.regionOrdinal(code)] |= bit;
+                this.byCollection[CardCodec.collectionOrdinal(code)] |= bit;
+                this.byAnimal[CardCodec.animalOrdinal(code)] |= bit;
+                this.byActivity[CardCodec.activityOrdinal(code)] |= bit;
+            }
+        }
+        this.allCards = all;
+    }
+
+    /**
+     * Gets the mask for a single card.
+     * 
+     * @param card A card.
+     * @return The mask with only the bit of the card set.
+     */
+    public static long mask(Card card){
+        return 1L << card.getID();
+    }
+
+    /**
+     * Gets the mask for several cards.
+     * 
+     * @param cards The cards.
+     * @return The mask with the bits of all cards set.
+     */
+    public static long mask(Card[] cards){
+        long mask = 0;
+        for(Card card : cards){
+            mask |= 1L << card.getID();
+        }
+        return mask;
+    }
+
+    /**
+     * Counts how many of some cards are also in another mask.
+     * 
+     * @param cards A mask of cards, for example the cards drafted by a player.
+     * @param attribute A mask of cards, for example all cards with Koalas.
+     * @return The number of cards in both masks.
+     */
+    public static int count(long cards, long attribute){
+        return Long.bitCount(cards & attribute);
+    }
+
+    /**
+     * @return The mask of all cards in the index.
+     */
+    public long getAllCards(){
+        return this.allCards;
+    }
+
+    /**
+     * @param id The ID of a card.
+     * @return The card with the ID, or null if there is no card with the ID.
+     */
+    public Card getCard(int id){
+        if(id < 0 || id >= this.cardsByID.length){
+            return null;
+        }
+        return this.cardsByID[id];
+    }
+
+    /**
+     * @param site The character of a site.
+     * @return The ID of the card for the site, or -1 if there is no card for the site.
+     */
+    public int getSiteID(char site){
+        return site < this.idBySite.length ? this.idBySite[site] : -1;
+    }
+
+    /**
+     * @param number A throw/catch number.
+     * @return The mask of all cards with the number.
+     */
+    public long getNumber(int number){
+        return number >= 0 && number < this.byNumber.length ? this.byNumber[number] : 0;
+    }
+
+    /**
+     * @param region A region.
+     * @return The mask of all cards in the region.
+     */
+    public long getRegion(Region region){
+        return this.byRegion[region.ordinal()];
+    }
+
+    /**
+     * @param collection A collection.
+     * @return The mask of all cards with the collection.
+     */
+    public long getCollection(Collection collection){
+        return this.byCollection[collection.ordinal()];
+    }
+
+    /**
+     * @param animal An animal.
+     * @return The mask of all cards with the animal.
+     */
+    public long getAnimal(Animal animal){
+        return this.byAnimal[animal.ordinal()];
+    }
+
+    /**
+     * @param activity An activity.
+     * @return The mask of all cards with the activity.
+     */
+    public long getActivity(Activity activity){
+        return this.byActivity[activity.ordinal()];
+    }
+}
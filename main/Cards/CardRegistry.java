@@ -0,0 +1,315 @@
+package Cards;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import Exception.BoomerangIOException;
+import Exception.LoadCardsException;
+import IO.HandleIO;
+
+/**
+ * Keeps the cards of every edition that has been loaded. Each edition is only
+ * loaded once, after which all games share the same card instances. Since cards
+ * never change after they have been loaded this is safe, and every game only
+ * needs its own list of the cards to shuffle.
+ * 
+ * The cards of an edition are kept as a CardSnapshot. If an edition is being watched
+ * its cards are reloaded in the background every time its JSON files or its card
+ * catalog change, and the new snapshot replaces the old one once it has been loaded
+ * and validated. Games that have already started keep the snapshot they started with.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class CardRegistry {
+    /**
+     * How long to wait after a file has changed before reloading the cards, in
+     * milliseconds. Lets editors finish writing and gathers changes to many files
+     * into a single reload.
+     */
+    private static final long RELOAD_DELAY = 200;
+
+    /**
+     * The current snapshot of all editions that have been loaded or are being loaded,
+     * stored by the name of the folder of the edition.
+     */
+    private static final ConcurrentHashMap<String, CompletableFuture<CardSnapshot>> editions = new ConcurrentHashMap<String, CompletableFuture<CardSnapshot>>();
+
+    /**
+     * The editions being watched, stored by the name of their folder.
+     */
+    private static final ConcurrentHashMap<String, AbstractCardsFactory> watched = new ConcurrentHashMap<String, AbstractCardsFactory>();
+
+    /**
+     * Where the failed reloads of each watched edition are reported, stored by the name of its folder.
+     */
+    private static final ConcurrentHashMap<String, HandleIO> errorOutputs = new ConcurrentHashMap<String, HandleIO>();
+
+    /**
+     * The version given to the next snapshot being loaded.
+     */
+    private static final AtomicLong nextVersion = new AtomicLong(1);
+
+    /**
+     * Watches the folders of the watched editions. Created when the first edition is watched.
+     */
+    private static WatchService watcher;
+
+    /**
+     * Gets the cards of an edition, loading them if this is the first time the
+     * edition is used. Blocks until the cards have been loaded.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return An unmodifiable list of all cards in the edition, sorted by the name of their JSON file.
+     * @throws BoomerangIOException Thrown when the cards could not be read.
+     * @throws LoadCardsException Thrown when a card could not be loaded or two cards have the same ID.
+     */
+    public static List<Card> getCards(AbstractCardsFactory factory) throws BoomerangIOException, LoadCardsException{
+        return getSnapshot(factory).getCards();
+    }
+
+    /**
+     * Gets a card of an edition by its ID, loading the edition if this is the first time
+     * it is used.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param id The ID of the card.
+     * @return The card with the ID, or null if the edition has no card with the ID.
+     * @throws BoomerangIOException Thrown when the cards could not be read.
+     * @throws LoadCardsException Thrown when a card could not be loaded or two cards have the same ID.
+     */
+    public static Card getCard(AbstractCardsFactory factory, int id) throws BoomerangIOException, LoadCardsException{
+        return getSnapshot(factory).getCard(id);
+    }
+
+    /**
+     * Gets the cards of an edition without waiting for them to be loaded. Every caller
+     * gets the same cards, so an edition is only loaded once even if many games are
+     * started at the same time. If loading fails the next caller will try again.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return A future that completes with an unmodifiable list of all cards in the edition.
+     */
+    public static CompletableFuture<List<Card>> getCardsAsync(AbstractCardsFactory factory){
+        return getSnapshotAsync(factory).thenApply(snapshot -> snapshot.getCards());
+    }
+
+    /**
+     * Gets the current snapshot of an edition, loading it if this is the first time the
+     * edition is used. Blocks until the cards have been loaded.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return The current snapshot of the edition.
+     * @throws BoomerangIOException Thrown when the cards could not be read.
+     * @throws LoadCardsException Thrown when a card could not be loaded or two cards have the same ID.
+     */
+    public static CardSnapshot getSnapshot(AbstractCardsFactory factory) throws BoomerangIOException, LoadCardsException{
+        return CardCatalog.await(getSnapshotAsync(factory));
+    }
+
+    /**
+     * Gets the current snapshot of an edition without waiting for it to be loaded,
+     * starting to load it if this is the first time the edition is used.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return A future that completes with the current snapshot of the edition.
+     */
+    public static CompletableFuture<CardSnapshot> getSnapshotAsync(AbstractCardsFactory factory){
+        return editions.computeIfAbsent(factory.getFolderNameCards(), folder -> {
+            CompletableFuture<CardSnapshot> snapshot = loadSnapshot(factory);
+
+            // run on another thread, the loading may already have failed while the map is being updated
+            snapshot.whenCompleteAsync((loaded, e) -> {
+                if(e != null){
+                    editions.remove(folder, snapshot);
+                }
+            });
+            return snapshot;
+        });
+    }
+
+    /**
+     * Loads the cards of an edition again. The cards are loaded and validated on the
+     * threads of the CardCatalog, and the new snapshot only replaces the current one
+     * if it could be loaded. A snapshot never replaces one with a higher version, so
+     * reloads that finish out of order do not bring back old cards.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return A future that completes with the new snapshot, or with the exception
+     * that stopped it from being loaded.
+     */
+    public static CompletableFuture<CardSnapshot> reload(AbstractCardsFactory factory){
+        String folder = factory.getFolderNameCards();
+
+        return loadSnapshot(factory).thenApply(snapshot -> {
+            editions.compute(folder, (key, current) -> {
+                if(current != null && current.isDone() && !current.isCompletedExceptionally() && current.join().getVersion() > snapshot.getVersion()){
+                    return current;
+                }
+                return CompletableFuture.completedFuture(snapshot);
+            });
+            return snapshot;
+        });
+    }
+
+    /**
+     * Starts watching the JSON files and the card catalog of an edition, so that its
+     * cards are reloaded when they change. Watching an edition more than once does nothing.
+     * The files are watched by a single background thread that never stops the program
+     * from exiting. A reload that fails keeps the old cards and is reported to the error output.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param errorOutput Where reloads of the edition that fail are reported.
+     * @throws BoomerangIOException Thrown when the folders of the edition could not be watched.
+     */
+    public static synchronized void watch(AbstractCardsFactory factory, HandleIO errorOutput) throws BoomerangIOException{
+        String folder = factory.getFolderNameCards();
+        if(watched.containsKey(folder)){
+            return;
+        }
+
+        try {
+            if(watcher == null){
+                watcher = FileSystems.getDefault().newWatchService();
+                register(Paths.get(CardCatalog.CARD_FOLDER)); // the card catalogs
+
+                Thread thread = new Thread(CardRegistry::watchCards, "CardWatcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            register(Paths.get(CardCatalog.CARD_FOLDER + folder));
+        } catch (IOException e) {
+            throw new BoomerangIOException(e);
+        }
+
+        errorOutputs.put(folder, errorOutput);
+        watched.put(folder, factory);
+    }
+
+    /**
+     * Registers a folder with the watcher.
+     * 
+     * @param dir The folder.
+     * @throws IOException Thrown when the folder could not be watched.
+     */
+    private static void register(Path dir) throws IOException{
+        dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Waits for changes to the watched folders and reloads the editions that changed.
+     * Run by the watcher thread until the program exits.
+     */
+    private static void watchCards(){
+        try {
+            while(true){
+                WatchKey key = watcher.take();
+                Thread.sleep(RELOAD_DELAY);
+
+                HashSet<String> changed = new HashSet<String>();
+                do {
+                    Path dir = (Path)key.watchable();
+                    for(WatchEvent<?> event : key.pollEvents()){
+                        addChanged(changed, dir, event);
+                    }
+                    key.reset();
+                } while((key = watcher.poll()) != null);
+
+                for(String folder : changed){
+                    reload(watched.get(folder)).exceptionally(e -> { // the old cards are kept
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        errorOutputs.get(folder).outputError(new LoadCardsException("The cards in " + folder + " could not be reloaded, the old cards are kept.", cause));
+                        return null;
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Finds the edition affected by a change to a file.
+     * 
+     * @param changed The names of the folders of the editions that have changed.
+     * @param dir The folder of the file that changed.
+     * @param event The change.
+     */
+    private static void addChanged(HashSet<String> changed, Path dir, WatchEvent<?> event){
+        boolean catalogs = dir.equals(Paths.get(CardCatalog.CARD_FOLDER));
+
+        if(event.kind() == StandardWatchEventKinds.OVERFLOW){ // changes were lost, reload everything in the folder
+            if(catalogs){
+                changed.addAll(watched.keySet());
+            } else {
+                changed.add(dir.getFileName().toString());
+            }
+            return;
+        }
+
+        String fileName = ((Path)event.context()).toString();
+        if(catalogs && fileName.endsWith(".catalog")){
+            String folder = fileName.substring(0, fileName.length() - ".catalog".length());
+            if(watched.containsKey(folder)){
+                changed.add(folder);
+            }
+        } else if(!catalogs && fileName.toLowerCase().endsWith(".json")){
+            changed.add(dir.getFileName().toString());
+        }
+    }
+
+    /**
+     * Loads a new snapshot of an edition.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return A future that completes with the snapshot.
+     */
+    private static CompletableFuture<CardSnapshot> loadSnapshot(AbstractCardsFactory factory){
+        long version = nextVersion.getAndIncrement();
+
+        return CardCatalog.loadCardsAsync(factory).thenApply(loaded -> {
+            try {
+                return createSnapshot(factory, version, loaded);
+            } catch (LoadCardsException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Creates a snapshot from the loaded cards of an edition and makes sure that all IDs are unique.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @param version The version of the snapshot.
+     * @param cards The cards of the edition.
+     * @return The snapshot.
+     * @throws LoadCardsException Thrown when two cards have the same ID or site, or an ID is negative or too high.
+     */
+    private static CardSnapshot createSnapshot(AbstractCardsFactory factory, long version, ArrayList<Card> cards) throws LoadCardsException{
+        int maxID = -1;
+        for(Card card : cards){
+            if(card.getID() < 0){
+                throw new LoadCardsException("The card " + card.getName() + " in " + factory.getFolderNameCards() + " has a negative ID.");
+            }
+            maxID = Math.max(maxID, card.getID());
+        }
+
+        Card[] cardsByID = new Card[maxID + 1];
+        for(Card card : cards){
+            if(cardsByID[card.getID()] != null){
+                throw new LoadCardsException("More than one card in " + factory.getFolderNameCards() + " has the ID " + card.getID() + " (" + card.getName() + ").");
+            }
+            cardsByID[card.getID()] = card;
+        }
+
+        return new CardSnapshot(version, cards, cardsByID, new CardIndex(cards, cardsByID));
+    }
+}
@@ -0,0 +1,91 @@
+package Cards;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All cards of an edition as they were when they were loaded. A snapshot never
+ * changes: when the cards of an edition are reloaded a new snapshot with a higher
+ * version replaces the old one in the CardRegistry, so a game that has already
+ * started keeps playing with the cards it started with.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class CardSnapshot {
+    /**
+     * The version of the snapshot. Later snapshots of an edition have higher versions.
+     */
+    private final long version;
+
+    /**
+     * All cards, sorted by the name of their JSON file.
+     */
+    private final List<Card> cards;
+
+    /**
+     * All cards, stored at the position of their ID.
+     */
+    private final Card[] cardsByID;
+
+    /**
+     * The attribute index of the cards.
+     */
+    private final CardIndex index;
+
+    /**
+     * Creates a snapshot of the cards of an edition.
+     * 
+     * @param version The version of the snapshot.
+     * @param cards The cards, sorted by the name of their JSON file.
+     * @param cardsByID The cards, stored at the position of their ID.
+     * @param index The attribute index of the cards.
+     */
+    CardSnapshot(long version, List<Card> cards, Card[] cardsByID, CardIndex index){
+        this.version = version;
+        this.cards = Collections.unmodifiableList(cards);
+        this.cardsByID = cardsByID;
+        this.index = index;
+    }
+
+    /**
+     * Gets the version of the snapshot.
+     * 
+     * @return The version of the snapshot.
+     */
+    public long getVersion(){
+        return this.version;
+    }
+
+    /**
+     * Gets all cards in the snapshot.
+     * 
+     * @return An unmodifiable list of all cards, sorted by the name of their JSON file.
+     */
+    public List<Card> getCards(){
+        return this.cards;
+    }
+
+    /**
+     * Gets a card by its ID.
+     * 
+     * @param id The ID of the card.
+     * @return The card with the ID, or null if the snapshot has no card with the ID.
+     */
+    public Card getCard(int id){
+        if(id < 0 || id >= this.cardsByID.length){
+            return null;
+        }
+        return this.cardsByID[id];
+    }
+
+    /**
+     * Gets the attribute index of the cards in the snapshot.
+     * 
+     * @return The attribute index.
+     */
+    public CardIndex getIndex(){
+        return this.index;
+    }
+}
@@ -17,4 +17,8 @@ public class LoadCardsException extends IOException {
     public LoadCardsException(Throwable cause){
         super(cause);
     }
+
+    public LoadCardsException(String message, Throwable cause){
+        super(message, cause);
+    }
 }
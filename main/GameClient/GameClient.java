@@ -2,8 +2,8 @@ package GameClient;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.io.IOException;
-import java.nio.file.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
 
 import Cards.*;
 import Rules.*;
@@ -32,14 +32,16 @@ public class GameClient {
     private int roundsLeft;
 
     /**
-     * Which regions had been visisted last round.
+     * The number of times the cards have been passed this round. Decides the direction
+     * of the next pass together with the rules.
      */
-    private ArrayList<String> visitedRegions = new ArrayList<String>();
+    private int passesThisRound = 0;
 
     /**
-     * Which new regions have been visited this round.
+     * Which regions have been completed in earlier rounds and this round,
+     * shared by the Scoresheets of all players.
      */
-    private ArrayList<String> newRegions = new ArrayList<String>();
+    private final RegionClaims regionClaims = new RegionClaims();
 
     /**
      * The abstract card factory used to create the deck.
@@ -56,6 +58,12 @@ public class GameClient {
      */
     private GameRules rules;
 
+    /**
+     * The cards of the edition as they were when the game started. The game keeps
+     * using these cards even if the cards of the edition are reloaded.
+     */
+    private CardSnapshot cardSnapshot;
+
     /**
      * The deck of cards used.
      */
@@ -77,6 +85,16 @@ public class GameClient {
      */
     private BotBehavior botBehavior;
 
+    /**
+     * If the players draft asynchronously, picking from the next hand as soon as it has been passed to them.
+     */
+    private boolean asyncDraft = false;
+
+    /**
+     * The random numbers used to shuffle the deck.
+     */
+    private SplittableRandom deckRandom;
+
     /**
      * The initiation of the game client. Sets the variables that will be important for the rest of the game.
      * 
@@ -96,17 +114,28 @@ public class GameClient {
         this.cardsFactory = editionCard;
         this.scoresheetType = editionScoresheet;
         this.rules = rules;
-        this.deck = createDeck(cardsFactory.getFolderNameCards());
         this.botBehavior = botBehavior;
 
+        // the cards load in the background while the players connect
+        CompletableFuture<CardSnapshot> loadingDeck = CardRegistry.getSnapshotAsync(cardsFactory);
+
         this.roundsLeft = rules.getNumRounds();
 
+        checkPlayers(numOfPlayers + numOfBots); // makes sure no rules are being broken
+
         if (numOfPlayers > 1){
             this.server = new ServerConnect();
         }
 
-        checkRules(numOfPlayers + numOfBots); // makes sure no rules are being broken
         createPlayers(numOfPlayers, numOfBots);
+        splitRandom(new SplittableRandom());
+
+        this.cardSnapshot = CardCatalog.await(loadingDeck);
+        for(Player player : this.players){
+            player.setCardIndex(this.cardSnapshot.getIndex());
+        }
+        this.deck = createDeck();
+        checkDeck();
     }
 
     /**
@@ -114,10 +143,7 @@ public class GameClient {
      * end of each round.
      */
     public void updateVisitedRegions(){
-        for(String region : this.newRegions){
-            this.visitedRegions.add(region);
-        }
-        this.newRegions = new ArrayList<String>();
+        this.regionClaims.endRound();
     }
 
     /**
@@ -126,14 +152,36 @@ public class GameClient {
      * @return The visited regions.
      */
     public ArrayList<String> getVisitedRegions(){
-        return this.visitedRegions;
+        return this.regionClaims.getClaimedRegions();
+    }
+
+    /**
+     * Gets the regions completed by the players, shared by the Scoresheets of all players.
+     * 
+     * @return The regions completed by the players.
+     */
+    public RegionClaims getRegionClaims(){
+        return this.regionClaims;
     }
 
     /**
-     * Shuffles the deck.
+     * Shuffles the deck with the Fisher-Yates shuffle.
      */
     public void shuffleDeck(){
-        Collections.shuffle(this.deck);
+        for(int i = this.deck.size() - 1; i > 0; i--){
+            Collections.swap(this.deck, i, this.deckRandom.nextInt(i + 1));
+        }
+    }
+
+    /**
+     * Sets the seed of the game. The deck and every bot get random numbers of their own
+     * split from the seed, so a game with the same seed, players and moves of the real
+     * players is dealt and played the same way. Must be set before the first round.
+     * 
+     * @param seed The seed of the game.
+     */
+    public void setSeed(long seed){
+        splitRandom(new SplittableRandom(seed));
     }
 
     /**
@@ -154,6 +202,22 @@ public class GameClient {
         return this.roundsLeft;
     }
 
+    /**
+     * Gets the number of the next pass of the round, starting at 0, and counts the pass.
+     * 
+     * @return The number of the pass.
+     */
+    public int nextPass(){
+        return this.passesThisRound++;
+    }
+
+    /**
+     * Starts counting the passes of a new round. Called when the cards are dealt.
+     */
+    public void resetPasses(){
+        this.passesThisRound = 0;
+    }
+
     /**
      * Decreases how many rounds are left.
      * Called at the end of a round.
@@ -171,6 +235,34 @@ public class GameClient {
         return this.rules;
     }
 
+    /**
+     * Sets if the players draft asynchronously. A player then picks from the next hand as
+     * soon as their neighbour has passed it, instead of waiting for all players to pick.
+     * 
+     * @param asyncDraft True if the players draft asynchronously.
+     */
+    public void setAsyncDraft(boolean asyncDraft){
+        this.asyncDraft = asyncDraft;
+    }
+
+    /**
+     * Gets if the players draft asynchronously.
+     * 
+     * @return True if the players draft asynchronously.
+     */
+    public boolean isAsyncDraft(){
+        return this.asyncDraft;
+    }
+
+    /**
+     * Gets the snapshot of the cards used by the game.
+     * 
+     * @return The snapshot of the cards.
+     */
+    public CardSnapshot getCardSnapshot(){
+        return this.cardSnapshot;
+    }
+
     /**
      * Gets the deck.
      * 
@@ -182,22 +274,16 @@ public class GameClient {
 
     /**
      * Makes sure that no rules related to the number
-     * of players or number of cards are being broken.
+     * of players are being broken.
      * 
      * @param numPlayers The number of players.
-     * @throws CardAmountException Thrown when the amount of
-     * cards created does not match the amount in the rules.
      * @throws PlayerAmountException Thrown when the number of
      * of player exceed or subceed the limits set in the rules.
      */
-    private void checkRules(int numPlayers) throws CardAmountException, PlayerAmountException{
+    private void checkPlayers(int numPlayers) throws PlayerAmountException{
         int maxPlayers = rules.getMaxNumPlayers();
         int minPlayers = rules.getMinNumPlayers();
 
-        if(this.deck.size() != rules.getNumCardsTotal()){
-            throw new CardAmountException("The amount of cards loaded does not match the amount of cards set in the rules!");
-        }
-
         if(numPlayers > maxPlayers){
             throw new PlayerAmountException("To many players! The maximum is " + maxPlayers +  " but " + numPlayers + " players have been initialised.");
         } else if (numPlayers < minPlayers){
@@ -205,6 +291,19 @@ public class GameClient {
         }
     }
 
+    /**
+     * Makes sure that no rules related to the number
+     * of cards are being broken.
+     * 
+     * @throws CardAmountException Thrown when the amount of
+     * cards created does not match the amount in the rules.
+     */
+    private void checkDeck() throws CardAmountException{
+        if(this.deck.size() != rules.getNumCardsTotal()){
+            throw new CardAmountException("The amount of cards loaded does not match the amount of cards set in the rules!");
+        }
+    }
+
     /**
      * Creates the players for the game.
      * 
@@ -216,13 +315,19 @@ public class GameClient {
     private void createPlayers(int numOfPlayers, int numOfBots) throws BoomerangIOException, ScoresheetException{
         int playerIDinc = 0;
 
+        ScoringSpec scoringSpec = this.scoresheetType.getScoringSpec();
+        if(scoringSpec == null){
+            scoringSpec = ScoringSpec.get(this.cardsFactory);
+        }
+
         // create players
         for(int i = 0; i < numOfPlayers+numOfBots; i++){
             Scoresheet playerScoresheet = null;
 
             try{ // create the Scoresheet for the player
                 playerScoresheet = this.scoresheetType.getClass().getDeclaredConstructor().newInstance();
-                playerScoresheet.setVisitedRegions(this.visitedRegions, this.newRegions);
+                playerScoresheet.setRegionClaims(this.regionClaims, playerIDinc);
+                playerScoresheet.setScoringSpec(scoringSpec);
             } catch (Exception e){
                 throw new ScoresheetException("The Scoresheet could not be created.", e);
             }
@@ -242,28 +347,27 @@ public class GameClient {
     }
 
     /**
-     * Creates a new deck using the card factory.
+     * Splits random numbers for the deck and then for each bot, in the order of their seats.
      * 
-     * @param deckType The type of deck being created (Australia, Europe, USA)
-     * @return The new deck.
-     * @throws BoomerangIOException Thrown when something goes wrong with the IO.
-     * @throws LoadCardsException Thrown when the cards could not be loaded.
-     */
-    private ArrayList<Card> createDeck(String deckType) throws BoomerangIOException, LoadCardsException{
-        Path dirName = Paths.get("resources/Card/" + deckType);
-        ArrayList<Card> cards = new ArrayList<Card>();
-        DirectoryStream<Path> stream;
-        try{
-            stream = Files.newDirectoryStream(dirName);
-        } catch (IOException e) {
-            throw new BoomerangIOException(e);
-        }
-        
-        for (Path entry: stream) {
-            Card card = this.cardsFactory.createCard(entry.getFileName().toString());
-            cards.add(card);
+     * @param random The random numbers of the game.
+     */
+    private void splitRandom(SplittableRandom random){
+        this.deckRandom = random.split();
+        for(Player player : this.players){
+            if(player instanceof BotPlayer){
+                ((BotPlayer)player).setRandom(random.split());
+            }
         }
+    }
 
-        return cards;
+    /**
+     * Creates a new deck from the snapshot of the cards of the edition (Australia, Europe, USA).
+     * The cards themselves are shared with all other games using the same snapshot, only the
+     * order of the deck belongs to this game.
+     * 
+     * @return The new deck.
+     */
+    private ArrayList<Card> createDeck(){
+        return new ArrayList<Card>(this.cardSnapshot.getCards());
     }
 }
@@ -4,6 +4,7 @@ import Cards.*;
 import Rules.*;
 import Player.*;
 import Bot.*;
+import IO.Console;
 import Exception.PlayerAmountException;
 import Exception.ScoresheetException;
 import Exception.BoomerangIOException;
@@ -46,6 +47,21 @@ public class GameClientBuilder {
      */
     private BotBehavior botBehavior;
 
+    /**
+     * If the players draft asynchronously.
+     */
+    private boolean asyncDraft;
+
+    /**
+     * The seed of the game, or null to start from a random seed.
+     */
+    private Long seed;
+
+    /**
+     * If the cards of the edition are reloaded when their files change.
+     */
+    private boolean watchCards;
+
     /**
      * Runs the reset() function when a new instance of the class is initiated.
      */
@@ -55,8 +71,9 @@ public class GameClientBuilder {
 
     /**
      * Sets the number of players to 0, the edition of the Game to Boomerang
-     * Australia, the rules to the standard rules, and the behavior of the bot
-     * to the standard behavior.
+     * Australia, the rules to the standard rules, the behavior of the bot
+     * to the standard behavior, the players to draft one pick at a time, the
+     * game to start from a random seed, and the cards to not be watched.
      */
     public void reset(){
         this.numOfPlayers = 0;
@@ -65,6 +82,9 @@ public class GameClientBuilder {
         this.editionScoresheet = new ScoresheetAustralia();
         this.rules = new StandardRules();
         this.botBehavior = new StandardBehavior();
+        this.asyncDraft = false;
+        this.seed = null;
+        this.watchCards = false;
     }
 
     /**
@@ -110,7 +130,8 @@ public class GameClientBuilder {
     
     /**
      * Sets the edition of the game. Will be set to Boomerang Australia
-     * if not otherwise specified.
+     * if not otherwise specified. The scoring rules of the edition are compiled
+     * from its scoring spec when the GameClient is created.
      * 
      * @param edition The choice of edition. In version 1.0 only one edition is available and 
      * that is Boomerang Australia, which is chosen when edition = 1.
@@ -134,6 +155,39 @@ public class GameClientBuilder {
         this.editionScoresheet = scoresheet;
     }
 
+    /**
+     * Sets if the players draft asynchronously. A player then picks from the next hand as
+     * soon as their neighbour has passed it, instead of waiting for the slowest player
+     * every pick. Will be set to false if not otherwise specified.
+     * 
+     * @param asyncDraft True if the players draft asynchronously.
+     */
+    public void setAsyncDraft(boolean asyncDraft){
+        this.asyncDraft = asyncDraft;
+    }
+
+    /**
+     * Sets the seed of the game. Games with the same seed and settings are dealt the same
+     * cards and the bots make the same choices. Will be a random seed if not otherwise specified.
+     * 
+     * @param seed The seed of the game.
+     */
+    public void setSeed(long seed){
+        this.seed = seed;
+    }
+
+    /**
+     * Sets if the cards of the edition are watched, so that they are reloaded when their files
+     * change and fixed cards are picked up by the next game. If the cards can not be watched
+     * getClient throws a BoomerangIOException, and reloads that fail are reported to the console.
+     * Will be set to false if not otherwise specified.
+     * 
+     * @param watchCards True if the cards are watched.
+     */
+    public void setWatchCards(boolean watchCards){
+        this.watchCards = watchCards;
+    }
+
     /**
      * Sets the rules of the game. Will be set to standard rules
      * if not otherwise specified.
@@ -162,13 +216,22 @@ public class GameClientBuilder {
      * @return A GameClient with the settings chosen with the setter functions.
      * @throws PlayerAmountException Thrown when the number of players chosen breaks the rules.
      * @throws CardAmountException Thrown when the number of cards loaded breaks the rules.
-     * @throws BoomerangIOException Thrown when something goes wrong with the IO.
-     * @throws ScoresheetException Thrown when the creation of scoresheets for the players failed.
+     * @throws BoomerangIOException Thrown when something goes wrong with the IO, or the cards could not be watched.
+     * @throws ScoresheetException Thrown when the creation of scoresheets for the players failed, or the scoring spec of the edition could not be loaded.
      * @throws LoadCardException Thrown when loading a new card goes wrong.
      */
     public GameClient getClient() throws PlayerAmountException, CardAmountException, BoomerangIOException, LoadCardsException, ScoresheetException{
         if(numOfPlayers > 0 && numOfBots+numOfPlayers > 1){
-            return new GameClient(this.numOfPlayers, this.numOfBots, this.editionCards, this.editionScoresheet, this.rules, this.botBehavior);
+            this.editionScoresheet.setScoringSpec(ScoringSpec.get(this.editionCards));
+            if(this.watchCards){
+                CardRegistry.watch(this.editionCards, new Console());
+            }
+            GameClient gameClient = new GameClient(this.numOfPlayers, this.numOfBots, this.editionCards, this.editionScoresheet, this.rules, this.botBehavior);
+            gameClient.setAsyncDraft(this.asyncDraft);
+            if(this.seed != null){
+                gameClient.setSeed(this.seed);
+            }
+            return gameClient;
         } else {
             if(numOfPlayers <= 0){
                 throw new PlayerAmountException("The number of real players must always be more than zero.");
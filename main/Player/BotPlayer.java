@@ -1,12 +1,10 @@
 package Player;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.SplittableRandom;
 
 import Cards.Card;
 import Exception.OptionalScoreException;
 import Bot.*;
-import Message.*;
 
 /**
  * An extension of the player class that handles bot players. 
@@ -33,6 +31,15 @@ public class BotPlayer extends Player {
         this.behavior = behavior;
     }
 
+    /**
+     * Gives the bot random numbers of its own to make its random choices with.
+     * 
+     * @param random The random numbers of the bot.
+     */
+    public void setRandom(SplittableRandom random){
+        this.behavior = this.behavior.withRandom(random);
+    }
+
     /**
      * The bot player chooses a card.
      */
@@ -62,37 +69,47 @@ public class BotPlayer extends Player {
      * Asks the bot if it wants to count its optional score for the round.
      */
     boolean askAboutOptionals(){
-        HashMap<String, Integer> whichRegions = new HashMap<String, Integer>();
+        return chooseOptional(this.playerHand, this.playerScore, this.behavior);
+    }
 
-        for(Card selectCard : playerHand.getSelectedCards()){
-            handleOptional(whichRegions, selectCard.getOptional());
-        }
+    /**
+     * Lets a bot choose whether to score its optional action for the round. The bot is asked
+     * about the optional action it drafted the most cards of that its Scoresheet has not scored
+     * yet, the one drafted first if several have as many cards. Used by every bot, also in
+     * games played without a GameClient, so that they all choose the same way.
+     * 
+     * @param playerHand The hand of the bot. Its round optional is set if the bot scores it.
+     * @param playerScore The Scoresheet of the bot, which knows the optional actions already scored.
+     * @param behavior The behavior of the bot.
+     * @return True if the bot scores its optional action.
+     */
+    public static boolean chooseOptional(Hand playerHand, Scoresheet playerScore, BotBehavior behavior){
+        Card[] drafted = playerHand.getSelectedCards();
+        String mostOptional = "";
+        int mostCards = 0;
 
-        String[] performedOptionals = this.getOptionals();
-        String mostOptionalStr = "";
-        int mostOptional = 0;
+        for(int i = 0; i < drafted.length; i++){
+            String optional = drafted[i].getOptional();
+            if(optional.equals("") || playerScore.previousOptional.contains(optional)){
+                continue;
+            }
 
-        for (String i : whichRegions.keySet()){
-            if(!Arrays.stream(performedOptionals).anyMatch(i::equals)){
-                if(whichRegions.get(i) > mostOptional){
-                    mostOptionalStr = i;
-                    mostOptional = whichRegions.get(i);
+            int numCards = 0;
+            for(Card card : drafted){
+                if(card.getOptional().equals(optional)){
+                    numCards++;
                 }
             }
+            if(numCards > mostCards){
+                mostOptional = optional;
+                mostCards = numCards;
+            }
         }
 
-        char[] choices = {'Y', 'N'};
-
-        Choice optionalsChoice = new Choice("Do you want keep " + mostOptionalStr + " (Y/N)", choices);
-
-        Response playerResponse = behavior.scoreOptional(optionalsChoice);
-        if(playerResponse.getResponse() == "Y"){
-            this.playerHand.setRoundOptional(mostOptionalStr);
-            return true;
-        } else if (playerResponse.getResponse() == "N"){
-            return false;
-        } else {
+        if(!behavior.keepOptional(mostOptional, mostCards)){
             return false;
         }
+        playerHand.setRoundOptional(mostOptional);
+        return true;
     }
 }
@@ -1,15 +1,27 @@
 package Player;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 
 import Cards.Card;
+import Cards.CardIndex;
 
 /**
  * The players hand. Keeps track of what cards the player has drafted,
  * what cards the player can draft, and what cards the player have been
  * passed by the other players.
  * 
+ * The cards are kept in arrays that are only created when a new hand is dealt,
+ * together with a mask of their IDs (bit n is set if the card with ID n is in the hand)
+ * used for scoring with a CardIndex. Going through the cards of a hand, finding a card
+ * by its site and selecting a card does not create any objects:
+ * 
+ * for(int i = 0; i < hand.getNumCards(); i++){
+ *     Card card = hand.getCard(i);
+ * }
+ * 
+ * The methods that return arrays of cards are kept for code that needs the cards
+ * as an array, each call creates a new array.
+ * 
  * @author Andreas Söderman
  * @version 1.0
  * @since 1.0
@@ -17,15 +29,36 @@ import Cards.Card;
 public class Hand {
     /**
      * Cards held by the player. These are the cards the player
-     * can choose between.
+     * can choose between. Only the first numCards are used.
      */
-    protected ArrayList<Card> cards;
+    protected Card[] cards;
+
+    /**
+     * The number of cards held by the player.
+     */
+    private int numCards;
+
+    /**
+     * The mask of the cards held by the player.
+     */
+    private long cardMask;
 
     /**
      * Cards passed from other players. These are the cards the player
-     * can choose between the next time it is their turn.
+     * can choose between the next time it is their turn. Only the first
+     * numNextCards are used.
+     */
+    protected Card[] nextCards = null;
+
+    /**
+     * The number of cards passed from other players.
      */
-    protected ArrayList<Card> nextCards = null;
+    private int numNextCards;
+
+    /**
+     * The mask of the cards passed from other players.
+     */
+    private long nextCardMask;
 
     /**
      * The players current throw card.
@@ -38,15 +71,31 @@ public class Hand {
     Card catchCard;
 
     /**
-     * The cards the player has selected to draft for the round.
+     * The cards the player has selected to draft for the round, in the order
+     * they were selected. Only the first numSelectedCards are used.
+     */
+    private final Card[] selectedCards = new Card[CardIndex.MAX_ID + 1];
+
+    /**
+     * The number of cards the player has selected to draft for the round.
+     */
+    private int numSelectedCards = 0;
+
+    /**
+     * The mask of all selected cards, including the throw card and catch card.
      */
-    ArrayList<Card> selectedCards = new ArrayList<Card>();
+    private long selectedMask = 0;
 
     /**
      * The optional action the player has chosen to score for the round.
      */
     String roundOptional = null;
 
+    /**
+     * The Scoresheet that keeps a running tally of the drafted cards, or null.
+     */
+    private Scoresheet scoresheet;
+
     /**
      * Initiates a new hand with new cards.
      * 
@@ -62,7 +111,9 @@ public class Hand {
      * @param newCards New cards for the hand.
      */
     public void setCards(Card[] newCards){
-        this.cards = new ArrayList<Card>(Arrays.asList(newCards));
+        this.cards = newCards.clone();
+        this.numCards = newCards.length;
+        this.cardMask = CardIndex.mask(newCards);
     }
 
     /**
@@ -71,7 +122,56 @@ public class Hand {
      * @param nextCards The cards passed by another player.
      */
     public void setNextCards(Card[] nextCards){
-        this.nextCards = new ArrayList<Card>(Arrays.asList(nextCards));
+        this.nextCards = nextCards.clone();
+        this.numNextCards = nextCards.length;
+        this.nextCardMask = CardIndex.mask(nextCards);
+    }
+
+    /**
+     * Makes a Scoresheet keep a running tally of the cards drafted into the hand,
+     * updated every time a card is selected.
+     * 
+     * @param scoresheet The players Scoresheet.
+     */
+    void setScoresheet(Scoresheet scoresheet){
+        this.scoresheet = scoresheet;
+        scoresheet.startTally(this);
+    }
+
+    /**
+     * Passes the cards the player holds to another player, who will use them the next
+     * time it is their turn. Only the reference to the cards is passed, the cards are
+     * not copied. The player must take the cards they have been passed before changing
+     * their own cards again.
+     * 
+     * @param receiver The hand of the player the cards are passed to.
+     */
+    public void passCards(Hand receiver){
+        receiver.nextCards = this.cards;
+        receiver.numNextCards = this.numCards;
+        receiver.nextCardMask = this.cardMask;
+    }
+
+    /**
+     * Makes the cards the player has been passed the cards the player holds.
+     * The cards are not copied.
+     */
+    public void takeNextCards(){
+        this.cards = this.nextCards;
+        this.numCards = this.numNextCards;
+        this.cardMask = this.nextCardMask;
+    }
+
+    /**
+     * Makes cards passed by another player the cards the player holds, without copying
+     * them. The array must not be used by anyone else afterwards.
+     * 
+     * @param passedCards The cards passed by another player.
+     */
+    public void takeCards(Card[] passedCards){
+        this.cards = passedCards;
+        this.numCards = passedCards.length;
+        this.cardMask = CardIndex.mask(passedCards);
     }
 
     /**
@@ -80,8 +180,10 @@ public class Hand {
      * @param card The players catch card.
      */
     public void setCatchCard(Card card){
-        this.cards.remove(card);
+        this.removeCard(card);
+        this.selectedMask |= CardIndex.mask(card);
         this.catchCard = card;
+        this.addToTally(card);
     }
 
     /**
@@ -120,20 +222,89 @@ public class Hand {
         return this.throwCard;
     }
 
+    /**
+     * Gets the number of cards the player can choose from.
+     * 
+     * @return The number of cards the player can choose from.
+     */
+    public int getNumCards(){
+        return this.numCards;
+    }
+
+    /**
+     * Gets a card the player can choose from.
+     * 
+     * @param i The position of the card in the hand.
+     * @return The card.
+     */
+    public Card getCard(int i){
+        return this.cards[i];
+    }
+
+    /**
+     * Gets the mask of the cards the player can choose from.
+     * 
+     * @return The mask of the cards the player can choose from.
+     */
+    public long getCardMask(){
+        return this.cardMask;
+    }
+
+    /**
+     * Gets the mask of the cards the player has been passed by another player.
+     * 
+     * @return The mask of the cards the player have been passed by another player.
+     */
+    public long getNextCardMask(){
+        return this.nextCardMask;
+    }
+
+    /**
+     * Gets the number of cards the player has selected to draft, excluding the throw card and catch card.
+     * 
+     * @return The number of selected cards.
+     */
+    public int getNumSelectedCards(){
+        return this.numSelectedCards;
+    }
+
+    /**
+     * Gets a card the player has selected to draft, excluding the throw card and catch card.
+     * 
+     * @param i The position of the card, in the order the cards were selected.
+     * @return The selected card.
+     */
+    public Card getSelectedCard(int i){
+        return this.selectedCards[i];
+    }
+
+    /**
+     * Gets the mask of all the players selected cards, this includes the throw card and catch card.
+     * 
+     * @return The mask of all the players selected cards.
+     */
+    public long getSelectedCardMask(){
+        return this.selectedMask;
+    }
+
     /**
      * Gets all the players selected cards, this includes the throw card and catch card.
      * 
      * @return All the players selected cards.
      */
     public Card[] getSelectedCards(){
-        ArrayList<Card> allSelectedCards = new ArrayList<Card>(selectedCards);
+        int numCards = this.numSelectedCards + (this.throwCard != null ? 1 : 0) + (this.catchCard != null ? 1 : 0);
+        Card[] allSelectedCards = new Card[numCards];
+        System.arraycopy(this.selectedCards, 0, allSelectedCards, 0, this.numSelectedCards);
+
+        int i = this.numSelectedCards;
         if(throwCard != null){
-            allSelectedCards.add(throwCard);
+            allSelectedCards[i++] = throwCard;
         }
         if(catchCard != null){
-            allSelectedCards.add(catchCard);
+            allSelectedCards[i++] = catchCard;
         }
-        return allSelectedCards.toArray(new Card[allSelectedCards.size()]);
+        return allSelectedCards;
     }
 
     /**
@@ -142,7 +313,7 @@ public class Hand {
      * @return All the cards the player can choose from.
      */
     public Card[] getCards(){
-        return this.cards.toArray(new Card[this.cards.size()]);
+        return Arrays.copyOf(this.cards, this.numCards);
     }
 
     /**
@@ -151,7 +322,7 @@ public class Hand {
      * @return The cards the player have been passed by another player.
      */
     public Card[] getNextCards(){
-        return this.nextCards.toArray(new Card[this.nextCards.size()]);
+        return Arrays.copyOf(this.nextCards, this.numNextCards);
     }
 
     /**
@@ -161,9 +332,9 @@ public class Hand {
      */
     public String getInfoHand(){
         String output = "YOUR CURRENT HAND: \n";
-        
-        for(Card currCard : this.cards){
-            output += currCard.getAllInfo() + "\n";
+
+        for(int i = 0; i < this.numCards; i++){
+            output += this.cards[i].getAllInfo() + "\n";
         }
 
         return output;
@@ -177,8 +348,8 @@ public class Hand {
      */
     public String getInfoDraft(){
         String output = "Drafted cards: \n";
-        for(Card currCard : this.selectedCards){
-            output += currCard.getAllInfo() + "\n";
+        for(int i = 0; i < this.numSelectedCards; i++){
+            output += this.selectedCards[i].getAllInfo() + "\n";
         }
 
         return output;
@@ -205,9 +376,9 @@ public class Hand {
      * @return An array of characters for the cards the player currently has on hand
      */
     public char[] getChoiceOfSites(){
-        char[] choices = new char[this.cards.size()];
-        for(int i = 0; i < this.cards.size(); i++){
-            choices[i] = this.cards.get(i).getSite();
+        char[] choices = new char[this.numCards];
+        for(int i = 0; i < this.numCards; i++){
+            choices[i] = this.cards[i].getSite();
         }
         return choices;
     }
@@ -218,9 +389,9 @@ public class Hand {
      * @return An array of numbers for the cards the player currently has on hand.
      */
     public int[] getChoiceOfNumber(){
-        int[] choices = new int[this.cards.size()];
-        for(int i = 0; i < this.cards.size(); i++){
-            choices[i] = this.cards.get(i).getNumber();
+        int[] choices = new int[this.numCards];
+        for(int i = 0; i < this.numCards; i++){
+            choices[i] = this.cards[i].getNumber();
         }
         return choices;
     }
@@ -231,12 +402,9 @@ public class Hand {
      * @param site The site of the card the player wants to choose.
      */
     public void selectCard(char site){
-        if(this.throwCard == null){
-            selectThrowCard(site);
-        } else {
-            Card throwCard = this.getCardFromSite(site);
-            this.selectedCards.add(throwCard);
-            this.cards.remove(throwCard);
+        Card card = this.getCardFromSite(site);
+        if(card != null){
+            this.selectCard(card);
         }
     }
 
@@ -246,40 +414,53 @@ public class Hand {
      * @param card The Card the player wants to choose.
      */
     public void selectCard(Card card){
+        this.removeCard(card);
+        this.selectedMask |= CardIndex.mask(card);
         if(this.throwCard == null){
-            selectThrowCard(card);
+            this.throwCard = card;
         } else {
-            this.selectedCards.add(card);
-            this.cards.remove(card);
+            this.selectedCards[this.numSelectedCards++] = card;
         }
+        this.addToTally(card);
     }
 
     /**
-     * Selects a throw card from the players hand based on a character (site).
-     * 
-     * @param site The character used to find what card the player wants to choose as their throw card.
+     * Resets the chosen optional action, selected cards, cards from other players,
+     * and the catch and throw cards for the start of a new round.
      */
-    private void selectThrowCard(char site){
-        Card throwCard = this.getCardFromSite(site);
-        this.cards.remove(throwCard);
-        this.throwCard = throwCard;
+    void resetRound(){
+        Arrays.fill(this.selectedCards, 0, this.numSelectedCards, null);
+        this.numSelectedCards = 0;
+        this.selectedMask = 0;
+        this.roundOptional = null;
+        this.nextCards = null;
+        this.numNextCards = 0;
+        this.nextCardMask = 0;
+        this.catchCard = null;
+        this.throwCard = null;
+        if(this.scoresheet != null){
+            this.scoresheet.startTally(this);
+        }
     }
 
     /**
-     * Selects a throw card from the players hand based on a Card.
+     * Gets the number of cards the player has drafted, including the throw card and catch card.
      * 
-     * @param card The Card the player wants as their throw card.
+     * @return The number of drafted cards.
      */
-    private void selectThrowCard(Card card){
-        this.cards.remove(card);
-        this.throwCard = card;
+    int getNumDraftedCards(){
+        return Long.bitCount(this.selectedMask);
     }
 
     /**
-     * Resets the players throw card for the start of a new round.
+     * Adds a drafted card to the running tally of the Scoresheet, if there is one.
+     * 
+     * @param card The drafted card.
      */
-    void resetThrowCard(){
-        this.throwCard = null;
+    private void addToTally(Card card){
+        if(this.scoresheet != null){
+            this.scoresheet.addToTally(card);
+        }
     }
 
     /**
@@ -288,12 +469,33 @@ public class Hand {
      * @param site The site of the requested card.
      * @return If the card can be found it is returned. Otherwise null is returned.
      */
-    private Card getCardFromSite(char site){
-        for(Card currCard : this.cards){
-            if(currCard.getSite() == site){
-                return currCard;
+    public Card getCardFromSite(char site){
+        for(int i = 0; i < this.numCards; i++){
+            if(this.cards[i].getSite() == site){
+                return this.cards[i];
             }
         }
         return null;
     }
+
+    /**
+     * Removes a card from the cards the player can choose from, keeping the order
+     * of the other cards.
+     * 
+     * @param card The card being removed.
+     */
+    private void removeCard(Card card){
+        if((this.cardMask & CardIndex.mask(card)) == 0){
+            return;
+        }
+
+        for(int i = 0; i < this.numCards; i++){
+            if(this.cards[i].equals(card)){
+                System.arraycopy(this.cards, i + 1, this.cards, i, this.numCards - i - 1);
+                this.cards[--this.numCards] = null;
+                this.cardMask &= ~CardIndex.mask(card);
+                return;
+            }
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 import Cards.Card;
+import Cards.CardIndex;
 
 /**
  * The framework for all types of players,
@@ -78,6 +79,7 @@ public abstract class Player {
      */
     public void setNewHand(Card[] hand){
         this.playerHand = new Hand(hand);
+        this.playerHand.setScoresheet(this.playerScore);
     }
 
     /**
@@ -113,7 +115,16 @@ public abstract class Player {
      * @return Number of cards left in Hand.
      */
     public int cardsLeft(){
-        return this.playerHand.cards.size();
+        return this.playerHand.getNumCards();
+    }
+
+    /**
+     * Sets the attribute index of the cards used by the game.
+     * 
+     * @param cardIndex The attribute index of the cards.
+     */
+    public void setCardIndex(CardIndex cardIndex){
+        this.playerScore.setCardIndex(cardIndex);
     }
 
     /**
@@ -121,11 +132,7 @@ public abstract class Player {
      * and the players catch and throw cards for the start of a new round.
      */
     public void endOfRoundReset(){
-        playerHand.roundOptional = null;
-        playerHand.selectedCards = new ArrayList<Card>();
-        playerHand.nextCards = null;
-        playerHand.catchCard = null;
-        playerHand.resetThrowCard();
+        playerHand.resetRound();
         playerScore.throwCatchScoreRound = 0;
     }
 
@@ -49,6 +49,7 @@ public class RealPlayer extends Player {
             output = "Your current draft:\n";
         }
         output += this.playerHand.getInfoDraftComplete();
+        output += "Score this round so far: " + this.playerScore.getLiveScore() + "\n";
 
         this.output(new Information(output));
     }
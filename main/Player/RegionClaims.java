@@ -0,0 +1,114 @@
+package Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Keeps track of which regions have been completed, shared by the Scoresheets of all
+ * players in a game. Only the players that complete a region in the same round as the
+ * first player to complete it get the bonus for it, so while a round is being scored the
+ * regions completed in earlier rounds never change and the regions completed this round
+ * are only collected. This lets the players be scored at the same time from different threads.
+ * 
+ * The regions completed this round are kept in the order of the seats of the players that
+ * completed them, and in the order they were completed for each player, so the order is the
+ * same as when the players are scored one at a time no matter which thread finishes first.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class RegionClaims {
+    /**
+     * The regions completed in earlier rounds.
+     */
+    private final ArrayList<String> claimed = new ArrayList<String>();
+
+    /**
+     * The regions completed this round. Also used as the lock for both lists.
+     */
+    private final ArrayList<String> newClaims = new ArrayList<String>();
+
+    /**
+     * The seat of the player that completed each region this round.
+     */
+    private final HashMap<String, Integer> seats = new HashMap<String, Integer>();
+
+    /**
+     * Creates the claims for a new game where no regions have been completed.
+     */
+    public RegionClaims(){
+    }
+
+    /**
+     * Checks if a region was completed in an earlier round.
+     * 
+     * @param region The name of the region.
+     * @return True if the region was completed in an earlier round.
+     */
+    public boolean isClaimed(String region){
+        synchronized(this.newClaims){
+            return this.claimed.contains(region);
+        }
+    }
+
+    /**
+     * Records that a player has completed a region this round. A region completed by
+     * several players is kept at the position of the player with the lowest seat.
+     * 
+     * @param seat The seat of the player.
+     * @param region The name of the region.
+     */
+    public void claim(int seat, String region){
+        synchronized(this.newClaims){
+            if(this.newClaims.contains(region)){
+                Integer current = this.seats.get(region);
+                if(current == null || current <= seat){
+                    return;
+                }
+                this.newClaims.remove(region);
+            }
+
+            int i = 0;
+            while(i < this.newClaims.size() && this.seats.getOrDefault(this.newClaims.get(i), -1) <= seat){
+                i++;
+            }
+            this.newClaims.add(i, region);
+            this.seats.put(region, seat);
+        }
+    }
+
+    /**
+     * Marks the regions completed this round as completed in an earlier round.
+     * Called at the end of each round.
+     */
+    public void endRound(){
+        synchronized(this.newClaims){
+            this.claimed.addAll(this.newClaims);
+            this.newClaims.clear();
+            this.seats.clear();
+        }
+    }
+
+    /**
+     * Gets the regions completed in earlier rounds.
+     * 
+     * @return A copy of the list of regions completed in earlier rounds.
+     */
+    public ArrayList<String> getClaimedRegions(){
+        synchronized(this.newClaims){
+            return new ArrayList<String>(this.claimed);
+        }
+    }
+
+    /**
+     * Gets the regions completed this round.
+     * 
+     * @return A copy of the list of regions completed this round, in the order of the seats of the players.
+     */
+    public ArrayList<String> getNewRegions(){
+        synchronized(this.newClaims){
+            return new ArrayList<String>(this.newClaims);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 
 import Exception.OptionalScoreException;
 import Cards.Card;
+import Cards.CardIndex;
 
 /**
  * A Scoresheet used by each player to keep track of their score.
@@ -35,25 +36,41 @@ public abstract class Scoresheet {
     int optionalScore = 0;
 
     /**
-     * An ArrayList of all visited regions for all players.
+     * The regions completed by all players, shared by the Scoresheets of a game.
      */
-    private ArrayList<String> visitedRegionsGlobal;
+    private RegionClaims regionClaims = new RegionClaims();
 
     /**
-     * An ArrayList of all regions the new regions the player has visited this round.
+     * The seat of the player at the table, used to order the regions completed this round.
      */
-    private ArrayList<String> newVisitedRegions = new ArrayList<String>();
+    private int seat = 0;
 
     /**
-     * Previously visited sites.
+     * Previously visited sites, as a mask of the IDs of their cards.
      */
-    ArrayList<Character> previousSite = new ArrayList<Character>();
+    long visitedSites = 0;
 
     /**
      * Previously choosen optional actions.
      */
     ArrayList<String> previousOptional = new ArrayList<String>();
 
+    /**
+     * The attribute index of the cards used by the game.
+     */
+    CardIndex cardIndex;
+
+    /**
+     * The compiled scoring rules of the edition, or null if the edition has none.
+     */
+    ScoringSpec scoringSpec;
+
+    /**
+     * The hand whose drafted cards are being added to the running tally for the round,
+     * or null if no hand is being tallied.
+     */
+    Hand tallyHand;
+
     /**
      * Sets the score for the round.
      * 
@@ -73,6 +90,51 @@ public abstract class Scoresheet {
      */
     public abstract String getRoundScoreFormated(Hand hand, boolean countOptional) throws OptionalScoreException;
 
+    /**
+     * Gets the score for the round so far, from the running tally of the cards drafted
+     * into the hand being tallied. Does not include optional actions.
+     * 
+     * @return The score for the round so far.
+     */
+    public abstract int getLiveScore();
+
+    /**
+     * Gets how many points drafting each of some cards would add to the score for the
+     * round right now, without changing anything. The throw and catch score and optional
+     * actions are not included, since they depend on cards that have not been drafted yet.
+     * Uses the running tally if the hand is being tallied.
+     * 
+     * @param hand The players hand.
+     * @param candidates The cards that could be drafted.
+     * @return The points each card would add, in the same order as the cards.
+     */
+    public abstract int[] marginalScores(Hand hand, Card[] candidates);
+
+    /**
+     * Starts a new running tally for the cards drafted into a hand. Called by the hand
+     * when it is given to the player and at the start of every round.
+     * 
+     * @param hand The hand being tallied.
+     */
+    void startTally(Hand hand){
+        this.tallyHand = hand;
+        this.resetTally();
+    }
+
+    /**
+     * Removes all cards from the running tally.
+     */
+    abstract void resetTally();
+
+    /**
+     * Adds a card drafted into the hand being tallied to the running tally.
+     * Called by the hand every time a card is selected, must not depend on the
+     * number of cards already drafted.
+     * 
+     * @param card The drafted card.
+     */
+    abstract void addToTally(Card card);
+
     /**
      * Adds score to the total score for the game.
      * 
@@ -121,21 +183,67 @@ public abstract class Scoresheet {
     /**
      * Add a site that has been visited.
      * 
-     * @param site The character that represents the site that has been visited.
+     * @param card The card of the site that has been visited.
      */
-    public void addPreviousSite(char site){
-        this.previousSite.add(site);
+    public void addVisitedSite(Card card){
+        this.visitedSites |= CardIndex.mask(card);
     }
 
     /**
-     * Sets the ArrayLists used to keep track of what regions the players have explored and what regions are new for the round.
+     * Checks if a site has been visited.
      * 
-     * @param visitedRegions ArrayList for all regions that have been visited in previous rounds.
-     * @param newRegions ArrayList for all new regions that have been visited this round.
+     * @param card The card of the site.
+     * @return True = the site has been visited. False = site has not been visited.
      */
-    public void setVisitedRegions(ArrayList<String> visitedRegions, ArrayList<String> newRegions){
-        this.visitedRegionsGlobal = visitedRegions;
-        this.newVisitedRegions = newRegions;
+    public boolean siteVisited(Card card){
+        return (this.visitedSites & CardIndex.mask(card)) != 0;
+    }
+
+    /**
+     * Gets all sites that have been visited.
+     * 
+     * @return A mask of the IDs of the cards of all visited sites.
+     */
+    public long getVisitedSites(){
+        return this.visitedSites;
+    }
+
+    /**
+     * Sets the regions completed by all players, shared by the Scoresheets of a game.
+     * 
+     * @param regionClaims The regions completed by all players.
+     * @param seat The seat of the player at the table.
+     */
+    public void setRegionClaims(RegionClaims regionClaims, int seat){
+        this.regionClaims = regionClaims;
+        this.seat = seat;
+    }
+
+    /**
+     * Sets the attribute index of the cards used by the game.
+     * 
+     * @param cardIndex The attribute index of the cards.
+     */
+    public void setCardIndex(CardIndex cardIndex){
+        this.cardIndex = cardIndex;
+    }
+
+    /**
+     * Sets the compiled scoring rules of the edition.
+     * 
+     * @param scoringSpec The scoring rules of the edition.
+     */
+    public void setScoringSpec(ScoringSpec scoringSpec){
+        this.scoringSpec = scoringSpec;
+    }
+
+    /**
+     * Gets the compiled scoring rules of the edition.
+     * 
+     * @return The scoring rules of the edition, or null if they have not been set.
+     */
+    public ScoringSpec getScoringSpec(){
+        return this.scoringSpec;
     }
 
     /**
@@ -144,18 +252,26 @@ public abstract class Scoresheet {
      * @param completedRegion The region the player has completed.
      */
     public void addNewRegion(String completedRegion){
-        if(!this.newVisitedRegions.contains(completedRegion)){
-            newVisitedRegions.add(completedRegion);
-        }
+        this.regionClaims.claim(this.seat, completedRegion);
+    }
+
+    /**
+     * Checks if a region was completed by any player in an earlier round.
+     * 
+     * @param region The name of the region.
+     * @return True if the region was completed in an earlier round.
+     */
+    boolean regionClaimed(String region){
+        return this.regionClaims.isClaimed(region);
     }
 
     /**
      * Gets the list of what regions players have been visited. 
      * 
-     * @return The list of what regions players have visited.
+     * @return A copy of the list of what regions players have visited.
      */
     public ArrayList<String> getVisitedRegions(){
-        return this.visitedRegionsGlobal;
+        return this.regionClaims.getClaimedRegions();
     }
 
     /**
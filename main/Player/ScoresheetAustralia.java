@@ -1,7 +1,13 @@
 package Player;
 
-import Cards.Card;
 import Cards.AustraliaCard;
+import Cards.Card;
+import Cards.CardCodec;
+import Cards.CardIndex;
+import Cards.AustraliaCard.Animal;
+import Cards.AustraliaCard.Activity;
+import Cards.AustraliaCard.Collection;
+import Cards.AustraliaCard.Region;
 import Exception.OptionalScoreException;
 
 import java.util.Arrays;
@@ -14,6 +20,57 @@ import java.util.Arrays;
  * @since 1.0
  */
 public class ScoresheetAustralia extends Scoresheet {
+    /**
+     * All collections and animals, in the order of their ordinals.
+     */
+    private static final Collection[] COLLECTIONS = Collection.values();
+    private static final Animal[] ANIMALS = Animal.values();
+
+    /**
+     * The number of drafted cards with each animal this round, by the ordinal of the animal.
+     */
+    private final int[] animalCount = new int[ANIMALS.length];
+
+    /**
+     * The number of drafted cards with each activity this round, by the ordinal of the activity.
+     */
+    private final int[] activityCount = new int[Activity.values().length];
+
+    /**
+     * The regions completed this round, in the order they were completed.
+     */
+    private final Region[] completedRegions = new Region[Region.values().length];
+
+    /**
+     * The number of regions completed this round.
+     */
+    private int numCompletedRegions = 0;
+
+    /**
+     * The sites visited for the first time this round, as a mask of the IDs of their cards.
+     */
+    private long roundSites = 0;
+
+    /**
+     * The number of cards in the running tally.
+     */
+    private int tallyCards = 0;
+
+    /**
+     * The collection points of the drafted cards this round, before they are doubled.
+     */
+    private int collectionPoints = 0;
+
+    /**
+     * The points for the pairs of animals drafted this round.
+     */
+    private int animalPairPoints = 0;
+
+    /**
+     * The points for completing regions first this round, if no other player
+     * completed them in an earlier round.
+     */
+    private int regionPoints = 0;
 
     /**
      * The collection score for the round.
@@ -31,22 +88,42 @@ public class ScoresheetAustralia extends Scoresheet {
     private int animalScore = 0;
 
     /**
-     * Sets the score for the round.
+     * Sets the score for the round. If the cards of the hand have been added to the
+     * running tally as they were drafted the tally is only finished, otherwise all
+     * cards of the draft are counted in a single pass first.
      */
     @Override
     public void setRoundScore(Hand hand, boolean countOptional) throws OptionalScoreException {
 
         this.countThrowCatch(hand.getThrowCard(), hand.getCatchCard());
-        this.countTourist(hand);
-        this.countCollection(hand);
-        this.countAnimal(hand);
+        if(this.tallyHand != hand || this.tallyCards != hand.getNumDraftedCards()){
+            this.countDraft(hand);
+        }
+        this.countTourist();
+        this.countCollection();
+        this.countAnimal();
         if(countOptional){
-            this.countActivities(hand, hand.getRoundOptional());
+            this.countActivities(hand.getRoundOptional());
         }
 
         int total = this.getThrowCatchScore() + this.getTouristScore() + this.getCollectionScore() + this.getAnimalScore() + this.getOptionalScore();
 
         this.addTotalScore(total);
+        this.tallyHand = null; // the tally has been used, scoring the hand again counts it again
+    }
+
+    /**
+     * Gets the score for the round so far, from the running tally.
+     */
+    @Override
+    public int getLiveScore(){
+        int score = Long.bitCount(this.roundSites) + this.regionPoints;
+        score += this.getSpec().getCollectionScore(this.collectionPoints) + this.animalPairPoints;
+
+        if(this.tallyHand != null && this.tallyHand.getThrowCard() != null && this.tallyHand.getCatchCard() != null){
+            score += Math.abs(this.tallyHand.getThrowCard().getNumber() - this.tallyHand.getCatchCard().getNumber());
+        }
+        return score;
     }
 
     /**
@@ -66,54 +143,153 @@ public class ScoresheetAustralia extends Scoresheet {
     }
 
     /**
-     * Counts the players tourist score.
-     * 
-     * @param hand The players Hand.
+     * Gets how many points drafting each of some cards would add to the score for the round
+     * right now. If the hand is not being tallied its draft is read from its masks instead.
      */
-    private void countTourist(Hand hand){
-        int totalScore = 0;
-        Card allSelectedCards[] = hand.getSelectedCards();
-
-        for(int i = 0; i < allSelectedCards.length; i++){
-            AustraliaCard currCard = (AustraliaCard)allSelectedCards[i];
-
-            if(!siteVisited(currCard.getSite())){ // check if player has visited site previously
-                totalScore++;
-                this.addPreviousSite(currCard.getSite());
-                String completedRegion = checkRegionComplete(currCard);
-                if(!completedRegion.equals("")){ // check if any region has been completed
-                    if(checkFirstPlayerRegion(completedRegion)){
-                        totalScore += 3;   
-                    }
+    @Override
+    public int[] marginalScores(Hand hand, Card[] candidates){
+        CardIndex index = this.getCardIndex();
+        ScoringSpec spec = this.getSpec();
+        boolean tallied = this.tallyHand == hand && this.tallyCards == hand.getNumDraftedCards();
+        long drafted = hand.getSelectedCardMask();
+        long visited = this.visitedSites | (tallied ? this.roundSites : drafted);
+        int points = tallied ? this.collectionPoints : getCollectionPoints(spec, index, drafted);
+        int[] scores = new int[candidates.length];
+
+        for(int i = 0; i < candidates.length; i++){
+            AustraliaCard card = (AustraliaCard)candidates[i];
+            int code = card.getCode();
+            long site = CardIndex.mask(card);
+            int score = 0;
+
+            if((visited & site) == 0){ // a new site
+                score++;
+                Region region = card.getRegionType();
+                long regionSites = index.getRegion(region);
+                if(((visited | site) & regionSites) == regionSites && !this.regionClaimed(region.getName())){
+                    score += spec.regionBonus;
                 }
             }
+
+            int animal = CardCodec.animalOrdinal(code);
+            int numAnimal = tallied ? this.animalCount[animal] : CardIndex.count(drafted, index.getAnimal(ANIMALS[animal]));
+            if(numAnimal % 2 == 1){ // completes a pair
+                score += spec.animalPairPoints[animal];
+            }
+
+            score += spec.getCollectionScore(points + spec.collectionPoints[CardCodec.collectionOrdinal(code)]) - spec.getCollectionScore(points);
+            scores[i] = score;
         }
 
-        this.touristScore = totalScore;
+        return scores;
     }
 
     /**
-     * Gets the players tourist score.
+     * Gets the collection points of some drafted cards.
      * 
-     * @return The players tourist score.
+     * @param spec The scoring rules of the edition.
+     * @param index The attribute index of the cards.
+     * @param drafted A mask of the drafted cards.
+     * @return The collection points of the cards, before they are doubled.
      */
-    public int getTouristScore(){
-        return this.touristScore;
+    private static int getCollectionPoints(ScoringSpec spec, CardIndex index, long drafted){
+        int points = 0;
+        for(int i = 0; i < COLLECTIONS.length; i++){
+            points += spec.collectionPoints[i] * CardIndex.count(drafted, index.getCollection(COLLECTIONS[i]));
+        }
+        return points;
     }
 
     /**
-     * Checks if a site has been visisted.
+     * Counts all cards the player has drafted, in the order they were drafted, into
+     * a new tally.
      * 
-     * @param site A character representing the site.
-     * @return True = the site has been visited. False = site has not been visisted.
+     * @param hand The players Hand.
      */
-    private boolean siteVisited(char site){
-        for (char visited : this.previousSite){
-            if(visited == site){
-                return true;
+    private void countDraft(Hand hand){
+        this.tallyHand = hand;
+        this.resetTally();
+
+        for(int i = 0; i < hand.getNumSelectedCards(); i++){
+            this.addToTally(hand.getSelectedCard(i));
+        }
+        if(hand.getThrowCard() != null){
+            this.addToTally(hand.getThrowCard());
+        }
+        if(hand.getCatchCard() != null){
+            this.addToTally(hand.getCatchCard());
+        }
+    }
+
+    /**
+     * Removes all cards from the running tally.
+     */
+    @Override
+    void resetTally(){
+        this.tallyCards = 0;
+        this.roundSites = 0;
+        this.numCompletedRegions = 0;
+        this.regionPoints = 0;
+        this.collectionPoints = 0;
+        this.animalPairPoints = 0;
+        Arrays.fill(this.animalCount, 0);
+        Arrays.fill(this.activityCount, 0);
+    }
+
+    /**
+     * Adds a drafted card to the running tally. Sites and regions are only marked as
+     * visited when the round is scored, so the tally does not change what other
+     * players see.
+     */
+    @Override
+    void addToTally(Card card){
+        AustraliaCard currCard = (AustraliaCard)card;
+        ScoringSpec spec = this.getSpec();
+        int code = currCard.getCode();
+        long site = CardIndex.mask(currCard);
+        this.tallyCards++;
+
+        if(((this.visitedSites | this.roundSites) & site) == 0){ // check if player has visited site previously
+            this.roundSites |= site;
+            Region completedRegion = checkRegionComplete(currCard);
+            if(completedRegion != null){ // check if any region has been completed
+                this.completedRegions[this.numCompletedRegions++] = completedRegion;
+                if(!this.regionClaimed(completedRegion.getName())){
+                    this.regionPoints += spec.regionBonus;
+                }
             }
         }
-        return false;
+
+        int animal = CardCodec.animalOrdinal(code);
+        if(++this.animalCount[animal] % 2 == 0){ // a new pair
+            this.animalPairPoints += spec.animalPairPoints[animal];
+        }
+        this.collectionPoints += spec.collectionPoints[CardCodec.collectionOrdinal(code)];
+        this.activityCount[CardCodec.activityOrdinal(code)]++;
+    }
+
+    /**
+     * Counts the players tourist score from the tally, marking the sites visited this round
+     * as visited and the completed regions as completed.
+     */
+    private void countTourist(){
+        this.touristScore = Long.bitCount(this.roundSites);
+        this.visitedSites |= this.roundSites;
+
+        for(int i = 0; i < this.numCompletedRegions; i++){
+            if(checkFirstPlayerRegion(this.completedRegions[i].getName())){
+                this.touristScore += this.getSpec().regionBonus;
+            }
+        }
+    }
+
+    /**
+     * Gets the players tourist score.
+     * 
+     * @return The players tourist score.
+     */
+    public int getTouristScore(){
+        return this.touristScore;
     }
 
     /**
@@ -123,7 +299,7 @@ public class ScoresheetAustralia extends Scoresheet {
      * @return True = first player to complete the region. False = not the first player to complete the region.
      */
     private boolean checkFirstPlayerRegion(String completedRegion){
-        if(this.getVisitedRegions().contains(completedRegion)){
+        if(this.regionClaimed(completedRegion)){
             return false;
         } else {
             this.addNewRegion(completedRegion);
@@ -133,63 +309,29 @@ public class ScoresheetAustralia extends Scoresheet {
     }
 
     /**
-     * Checks if the player has completed a region.
+     * Checks if the player has completed a region by visiting the site of a card. Since the
+     * site has just been visited, the region was not complete before, so a region is only
+     * found once: when the last of its sites is visited.
      * 
      * @param card The Card whose region is being checked.
-     * @return The name of the region that the player has completed.
-     */
-    private String checkRegionComplete(AustraliaCard card){
-        String region = card.getRegion();
-
-        if(region.equals("Western Australia") && this.previousSite.containsAll(Arrays.asList('A', 'B', 'C', 'D'))){
-            return "Western Australia";
-        } else if (region.equals("Northern Territory") && this.previousSite.containsAll(Arrays.asList('E', 'F', 'G', 'H'))){
-            return "Northern Territory";
-        } else if (region.equals("Queensland") && this.previousSite.containsAll(Arrays.asList('I', 'J', 'K', 'L'))){
-            return "Queensland";
-        } else if (region.equals("South Australia") && this.previousSite.containsAll(Arrays.asList('M', 'N', 'O', 'P'))){
-            return "South Australia";
-        } else if (region.equals("New South Whales") && this.previousSite.containsAll(Arrays.asList('Q', 'R', 'S', 'T'))){
-            return "New South Whales";
-        } else if (region.equals("Victoria") && this.previousSite.containsAll(Arrays.asList('U', 'V', 'W', 'X'))) {
-            return "Victoria";
-        } else if (region.equals("Tasmania") && this.previousSite.containsAll(Arrays.asList('Y', 'Z', '*', '-'))) {
-            return "Tasmania";
+     * @return The region that the player has completed, or null if no region was completed.
+     */
+    private Region checkRegionComplete(AustraliaCard card){
+        Region region = card.getRegionType();
+        long regionSites = this.getCardIndex().getRegion(region);
+
+        if(((this.visitedSites | this.roundSites) & regionSites) == regionSites){
+            return region;
         }
         
-        return "";
+        return null;
     }
 
     /**
      * Counts the player collection score for the round.
-     * 
-     * @param hand The players hand.
-     */
-    private void countCollection(Hand hand){
-        int cardScore = 0;
-        Card allSelectedCards[] = hand.getSelectedCards();
-
-        for(int i = 0; i < allSelectedCards.length; i++){
-            AustraliaCard currCard = (AustraliaCard)allSelectedCards[i];
-            String collection = currCard.getCollection();
-            if(!collection.equals("")){
-                if(collection.equals("Leaves")){
-                    cardScore++;
-                } else if (collection.equals("Wildflowers")){
-                    cardScore += 2;
-                } else if (collection.equals("Shells")){
-                    cardScore += 3;
-                } else if (collection.equals("Souvenirs")){
-                    cardScore += 5;
-                }
-            }
-        }
-
-        if(cardScore < 8 && cardScore > 0){
-            this.collectionScore = cardScore*2;
-        } else {
-            this.collectionScore = cardScore;
-        }
+     */
+    private void countCollection(){
+        this.collectionScore = this.getSpec().getCollectionScore(this.collectionPoints);
     }
 
     /**
@@ -202,36 +344,12 @@ public class ScoresheetAustralia extends Scoresheet {
     }
 
     /**
-     * Counts the players animal score for the round.
-     * 
-     * @param hand The players hand.
+     * Counts the players animal score for the round. Each pair of the same animal
+     * gives points, a single animal without a pair gives nothing. The pairs are
+     * counted by the tally as the cards are drafted.
      */
-    private void countAnimal(Hand hand){
-        int cardScore = 0;
-        Card allSelectedCards[] = hand.getSelectedCards();
-        String[] animalarr = {"Kangaroos", "Emus", "Wombats", "Koalas", "Platypuses"};
-
-        for(String thisAnim : animalarr) {
-            int frequency = numberAnimals(thisAnim, allSelectedCards);
-            if(frequency % 2 != 0){
-                frequency -= (frequency % 2);
-            }
-            if(frequency != 0){
-                if(frequency % 2 == 0 && thisAnim.equals("Kangaroos")) {
-                    cardScore+=3*(frequency/2);
-                } else if(frequency % 2 == 0 && thisAnim.equals("Emus")) {
-                    cardScore+=4*(frequency/2);
-                } else if(frequency % 2 == 0 && thisAnim.equals("Wombats")) {
-                    cardScore+=5*(frequency/2);			
-                } else if(frequency % 2 == 0 && thisAnim.equals("Koalas")) {
-                    cardScore+=7*(frequency/2);
-                } else if(frequency % 2 == 0 && thisAnim.equals("Platypuses")) {
-                    cardScore+=9*(frequency/2);				
-                }
-            }
-        }
-
-        this.animalScore = cardScore;
+    private void countAnimal(){
+        this.animalScore = this.animalPairPoints;
     }
 
     /**
@@ -243,61 +361,45 @@ public class ScoresheetAustralia extends Scoresheet {
         return this.animalScore;
     }
 
-    /**
-     * Counts the number of each animal the player has collected in each round.
-     * 
-     * @param animal The animal being checked.
-     * @param draft The cards the player drafed that round.
-     * @return The number of one specific animal the player collected during the round.
-     */
-    private int numberAnimals(String animal, Card[] draft){
-        int nrAnimals = 0;
-        for(Card aCard : draft) {
-            AustraliaCard currCard = (AustraliaCard)aCard;
-            if(!currCard.getAnimal().equals("")) {
-                if(currCard.getAnimal().equals(animal)) {nrAnimals++;}
-            }
-        }
-        return nrAnimals;
-    }
-
     /**
      * Counts the activity score for the players current hand.
      * 
-     * @param hand The players hand.
      * @param activity The activity chosen by the player.
      * @throws OptionalScoreException Thrown if the player tries to count the same activity twice.
      */
-    private void countActivities(Hand hand, String activity) throws OptionalScoreException {
+    private void countActivities(String activity) throws OptionalScoreException {
         if(!this.previousOptional.contains(activity)){
             this.previousOptional.add(activity);
-            int cardScore = 0, numOfActivityCard = 0;
-            Card allSelectedCards[] = hand.getSelectedCards();
-
-            for(int i = 0; i < allSelectedCards.length; i++){
-                AustraliaCard currCard = (AustraliaCard)allSelectedCards[i];
-                String cardActivity = currCard.getOptional();
-                if(cardActivity.equals(activity)){
-                    numOfActivityCard++;
-                }
-            }
+            Activity chosenActivity = Activity.get(activity);
+            int numOfActivityCard = chosenActivity != null ? this.activityCount[chosenActivity.ordinal()] : 0;
 
-            if(numOfActivityCard == 1) {
-                cardScore = 0;
-            } else if (numOfActivityCard == 2){
-                cardScore = 2;
-            } else if (numOfActivityCard == 3){
-                cardScore = 4;
-            } else if (numOfActivityCard == 4){
-                cardScore = 7;
-            } else if (numOfActivityCard == 5){
-                cardScore = 10;
-            } else if (numOfActivityCard == 6){
-                cardScore = 15;
-            }
+            this.optionalScore = this.getSpec().getActivityPoints(numOfActivityCard);
+        }
+    }
 
-            this.optionalScore = cardScore;
-            
+    /**
+     * Gets the attribute index of the cards used by the game.
+     * 
+     * @return The attribute index of the cards.
+     * @throws IllegalStateException Thrown if the Scoresheet was never given the index of its cards.
+     */
+    private CardIndex getCardIndex(){
+        if(this.cardIndex == null){
+            throw new IllegalStateException("The Scoresheet has no card index, setCardIndex must be called before scoring.");
+        }
+        return this.cardIndex;
+    }
+
+    /**
+     * Gets the scoring rules of the edition used by the game.
+     * 
+     * @return The scoring rules of the edition.
+     * @throws IllegalStateException Thrown if the Scoresheet was never given the scoring rules of its edition.
+     */
+    private ScoringSpec getSpec(){
+        if(this.scoringSpec == null){
+            throw new IllegalStateException("The Scoresheet has no scoring spec, setScoringSpec must be called before scoring.");
         }
+        return this.scoringSpec;
     }
 }
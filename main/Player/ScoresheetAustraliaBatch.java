@@ -0,0 +1,412 @@
+package Player;
+
+import Cards.CardCodec;
+import Cards.CardIndex;
+import Cards.AustraliaCard.Activity;
+import Cards.AustraliaCard.Region;
+
+/**
+ * Scores many complete drafts of Boomerang Australia at once, without any Hands,
+ * Players or Card objects. Gives the same scores as ScoresheetAustralia with the same
+ * ScoringSpec, and is meant for simulations that score a very large number of drafts.
+ * 
+ * The drafts are given as cards packed by the CardCodec, stored structure-of-arrays:
+ * card number slot of draft d is found at drafts[slot * numDrafts + d]. Slot 0 is the
+ * throw card, the last slot is the catch card and the slots in between are the other
+ * drafted cards. The scores for each category are written to the arrays of a Scores.
+ * 
+ * Three kernels give the same scores. The scalar kernel scores one draft at a time, card by
+ * card, the same way as ScoresheetAustralia. The lane kernel goes through the batch one slot
+ * at a time and updates every draft for the slot with the same few integer operations,
+ * so the JIT compiler can turn the inner loops into SIMD instructions. The counts for every
+ * collection and animal of a draft are packed into a single int, COUNT_BITS bits per value,
+ * and the scores are then looked up in the tables of the ScoringSpec. The vector kernel
+ * does the same as the lane kernel, but counts the cards with the Vector API
+ * (jdk.incubator.vector) instead of relying on the JIT compiler.
+ * 
+ * The vector kernel is the class ScoresheetAustraliaVector in the source folder vector, which
+ * needs the incubator module both to compile and to run:
+ * javac --add-modules jdk.incubator.vector -cp (the compiled main folder) vector/Player/*.java
+ * It is loaded by reflection when the module is in the boot layer (java --add-modules
+ * jdk.incubator.vector) and the class is on the class path, and the lane kernel is used
+ * otherwise. The system property boomerang.batchKernel set to "lanes" or "scalar" picks
+ * one of the other kernels instead.
+ * 
+ * An instance does not change while scoring, so it can be used by many threads at the
+ * same time as long as each thread writes to its own Scores.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class ScoresheetAustraliaBatch {
+    /**
+     * The ways a batch can be scored.
+     */
+    public enum Kernel {
+        SCALAR,
+        LANES,
+        VECTOR;
+
+        /**
+         * @return True if the kernel can be used in this JVM. Only VECTOR can be missing.
+         */
+        public boolean isAvailable(){
+            return this != VECTOR || VECTOR_KERNEL != null;
+        }
+
+        /**
+         * @return The kernel chosen by the system property boomerang.batchKernel, or VECTOR
+         * if it is available and LANES if it is not.
+         */
+        public static Kernel getDefault(){
+            String kernel = System.getProperty("boomerang.batchKernel");
+            if("scalar".equalsIgnoreCase(kernel)){
+                return SCALAR;
+            }
+            if("lanes".equalsIgnoreCase(kernel) || !VECTOR.isAvailable()){
+                return LANES;
+            }
+            return VECTOR;
+        }
+    }
+
+    /**
+     * A kernel compiled apart from this class and loaded by reflection.
+     */
+    interface LoadedKernel {
+        /**
+         * Scores a batch of drafts, see ScoresheetAustraliaBatch.score.
+         */
+        void score(ScoresheetAustraliaBatch batch, int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, Scores scores);
+    }
+
+    /**
+     * The vector kernel, or null if the incubator module or the class is missing.
+     */
+    private static final LoadedKernel VECTOR_KERNEL = loadVectorKernel();
+
+    /**
+     * The number of bits used to count each collection and animal in the lane kernel.
+     */
+    static final int COUNT_BITS = 5;
+
+    /**
+     * The highest number of cards in a draft, so that no count overflows its bits.
+     */
+    public static final int MAX_CARDS_PER_DRAFT = (1 << COUNT_BITS) - 1;
+
+    /**
+     * The scores of a batch of drafts, stored by the position of the draft in the batch.
+     */
+    public static class Scores {
+        public final int[] throwCatch;
+        public final int[] tourist;
+        public final int[] collection;
+        public final int[] animal;
+        public final int[] activity;
+
+        /**
+         * The state of each draft while it is scored by the lane or vector kernel.
+         */
+        final long[] sites;
+        final int[] siteMasks;
+        final int[] collectionCounts;
+        final int[] animalCounts;
+        final int[] activityCounts;
+
+        /**
+         * Creates the arrays for the scores of a batch.
+         * 
+         * @param capacity The highest number of drafts in a batch.
+         */
+        public Scores(int capacity){
+            this.throwCatch = new int[capacity];
+            this.tourist = new int[capacity];
+            this.collection = new int[capacity];
+            this.animal = new int[capacity];
+            this.activity = new int[capacity];
+            this.sites = new long[capacity];
+            this.siteMasks = new int[capacity];
+            this.collectionCounts = new int[capacity];
+            this.animalCounts = new int[capacity];
+            this.activityCounts = new int[capacity];
+        }
+
+        /**
+         * Gets the score for a draft, the sum of all categories.
+         * 
+         * @param d The position of the draft in the batch.
+         * @return The score for the draft.
+         */
+        public int getTotal(int d){
+            return this.throwCatch[d] + this.tourist[d] + this.collection[d] + this.animal[d] + this.activity[d];
+        }
+    }
+
+    /**
+     * The number of cards in each draft.
+     */
+    final int cardsPerDraft;
+
+    /**
+     * The kernel used to score the batches.
+     */
+    private final Kernel kernel;
+
+    /**
+     * The scoring rules of the edition.
+     */
+    final ScoringSpec spec;
+
+    /**
+     * The mask of the sites in each region, by the ordinal of the region.
+     */
+    private final long[] regionSites = new long[Region.values().length];
+
+    /**
+     * Creates a batch scorer for drafts of the cards in an index.
+     * 
+     * @param cardIndex The attribute index of the cards.
+     * @param spec The scoring rules of the edition.
+     * @param cardsPerDraft The number of cards in each draft, including the throw card and catch card.
+     */
+    public ScoresheetAustraliaBatch(CardIndex cardIndex, ScoringSpec spec, int cardsPerDraft){
+        this(cardIndex, spec, cardsPerDraft, Kernel.getDefault());
+    }
+
+    /**
+     * Creates a batch scorer for drafts of the cards in an index, using a specific kernel.
+     * 
+     * @param cardIndex The attribute index of the cards.
+     * @param spec The scoring rules of the edition.
+     * @param cardsPerDraft The number of cards in each draft, including the throw card and catch card.
+     * @param kernel The kernel used to score the batches. LANES is used instead of VECTOR when
+     * VECTOR is not available.
+     */
+    public ScoresheetAustraliaBatch(CardIndex cardIndex, ScoringSpec spec, int cardsPerDraft, Kernel kernel){
+        if(cardsPerDraft < 2 || cardsPerDraft > MAX_CARDS_PER_DRAFT){
+            throw new IllegalArgumentException("A draft must have between 2 and " + MAX_CARDS_PER_DRAFT + " cards, not " + cardsPerDraft + ".");
+        }
+        this.cardsPerDraft = cardsPerDraft;
+        this.kernel = kernel.isAvailable() ? kernel : Kernel.LANES;
+        this.spec = spec;
+        for(Region region : Region.values()){
+            this.regionSites[region.ordinal()] = cardIndex.getRegion(region);
+        }
+    }
+
+    /**
+     * Gets the number of cards in each draft.
+     * 
+     * @return The number of cards in each draft.
+     */
+    public int getCardsPerDraft(){
+        return this.cardsPerDraft;
+    }
+
+    /**
+     * Gets the kernel used to score the batches.
+     * 
+     * @return The kernel.
+     */
+    public Kernel getKernel(){
+        return this.kernel;
+    }
+
+    /**
+     * Scores a batch of drafts.
+     * 
+     * @param drafts The packed cards of the drafts, structure-of-arrays.
+     * @param numDrafts The number of drafts in the batch.
+     * @param visitedSites The sites each player had visited before the draft, as masks of card IDs,
+     * or null if no sites had been visited.
+     * @param claimedRegions The regions completed in earlier rounds, as a mask of region ordinals
+     * (bit n is set for the region with ordinal n). These give no bonus.
+     * @param activities The ordinal of the activity each player scores, or null if no activities are scored.
+     * @param scores The scores for the drafts are written here.
+     */
+    public void score(int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, Scores scores){
+        switch(this.kernel){
+            case VECTOR:
+                VECTOR_KERNEL.score(this, drafts, numDrafts, visitedSites, claimedRegions, activities, scores);
+                break;
+            case LANES:
+                this.scoreLanes(drafts, numDrafts, visitedSites, claimedRegions, activities, scores);
+                break;
+            default:
+                this.scoreScalar(drafts, numDrafts, visitedSites, claimedRegions, activities, scores);
+        }
+    }
+
+    /**
+     * Scores a batch of drafts one draft at a time.
+     */
+    private void scoreScalar(int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, Scores scores){
+        int[] collectionPoints = this.spec.collectionPoints;
+        int[] animalPairPoints = this.spec.animalPairPoints;
+        int[] activityPoints = this.spec.activityPoints;
+        int catchSlot = (this.cardsPerDraft - 1) * numDrafts;
+
+        for(int d = 0; d < numDrafts; d++){
+            long visited = visitedSites == null ? 0 : visitedSites[d];
+            int chosenActivity = activities == null ? -1 : activities[d];
+            int tourist = 0, collection = 0, animal = 0, numActivity = 0;
+            int unpairedAnimals = 0; // bit n is set while there is an animal with ordinal n without a pair
+
+            for(int slot = d; slot <= catchSlot + d; slot += numDrafts){
+                int code = drafts[slot];
+                long site = 1L << CardCodec.site(code);
+
+                if((visited & site) == 0){ // a new site
+                    visited |= site;
+                    tourist++;
+                    int region = CardCodec.regionOrdinal(code);
+                    long regionMask = this.regionSites[region];
+                    if((visited & regionMask) == regionMask && (claimedRegions & (1 << region)) == 0){
+                        tourist += this.spec.regionBonus;
+                    }
+                }
+
+                collection += collectionPoints[CardCodec.collectionOrdinal(code)];
+
+                int animalBit = 1 << CardCodec.animalOrdinal(code);
+                unpairedAnimals ^= animalBit;
+                if((unpairedAnimals & animalBit) == 0){ // a new pair
+                    animal += animalPairPoints[CardCodec.animalOrdinal(code)];
+                }
+
+                if(CardCodec.activityOrdinal(code) == chosenActivity){
+                    numActivity++;
+                }
+            }
+
+            scores.throwCatch[d] = Math.abs(CardCodec.number(drafts[d]) - CardCodec.number(drafts[catchSlot + d]));
+            scores.tourist[d] = tourist;
+            scores.collection[d] = this.spec.getCollectionScore(collection);
+            scores.animal[d] = animal;
+            scores.activity[d] = chosenActivity < 0 || numActivity >= activityPoints.length ? 0 : activityPoints[numActivity];
+        }
+    }
+
+    /**
+     * Scores a batch of drafts one slot at a time. A region is completed by a draft if all
+     * its sites are visited after the draft but not before it, which is the same as checking
+     * the region every time a new site is visited.
+     */
+    private void scoreLanes(int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, Scores scores){
+        long[] sites = scores.sites;
+        int[] collectionCounts = scores.collectionCounts;
+        int[] animalCounts = scores.animalCounts;
+        int[] activityCounts = scores.activityCounts;
+        int catchSlot = (this.cardsPerDraft - 1) * numDrafts;
+
+        for(int d = 0; d < numDrafts; d++){
+            sites[d] = visitedSites == null ? 0 : visitedSites[d];
+            collectionCounts[d] = 0;
+            animalCounts[d] = 0;
+            activityCounts[d] = 0;
+        }
+
+        for(int row = 0; row <= catchSlot; row += numDrafts){
+            for(int d = 0; d < numDrafts; d++){
+                int code = drafts[row + d];
+                sites[d] |= 1L << CardCodec.site(code);
+                collectionCounts[d] += 1 << (CardCodec.collectionOrdinal(code) * COUNT_BITS);
+                animalCounts[d] += 1 << (CardCodec.animalOrdinal(code) * COUNT_BITS);
+            }
+            if(activities != null){
+                for(int d = 0; d < numDrafts; d++){
+                    activityCounts[d] += CardCodec.activityOrdinal(drafts[row + d]) == activities[d] ? 1 : 0;
+                }
+            }
+        }
+
+        this.finishLanes(drafts, numDrafts, visitedSites, claimedRegions, activities, scores);
+    }
+
+    /**
+     * Turns the sites and counts of each draft into its scores, for the lane and vector kernels.
+     * The sites of a draft must include the sites visited before it.
+     */
+    void finishLanes(int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, Scores scores){
+        long[] sites = scores.sites;
+        int[] collectionCounts = scores.collectionCounts;
+        int[] animalCounts = scores.animalCounts;
+        int[] activityCounts = scores.activityCounts;
+        int catchSlot = (this.cardsPerDraft - 1) * numDrafts;
+
+        for(int d = 0; d < numDrafts; d++){
+            int throwCatch = CardCodec.number(drafts[d]) - CardCodec.number(drafts[catchSlot + d]);
+            scores.throwCatch[d] = Math.abs(throwCatch);
+            long before = visitedSites == null ? 0 : visitedSites[d];
+            scores.tourist[d] = Long.bitCount(sites[d] & ~before);
+            scores.collection[d] = 0;
+            scores.animal[d] = 0;
+        }
+
+        int regionBonus = this.spec.regionBonus;
+        for(int region = 0; region < this.regionSites.length; region++){
+            long regionMask = this.regionSites[region];
+            if(regionMask == 0 || (claimedRegions & (1 << region)) != 0){
+                continue;
+            }
+            for(int d = 0; d < numDrafts; d++){
+                long before = visitedSites == null ? 0 : visitedSites[d];
+                boolean completed = (sites[d] & regionMask) == regionMask && (before & regionMask) != regionMask;
+                scores.tourist[d] += completed ? regionBonus : 0;
+            }
+        }
+
+        int[] collectionPoints = this.spec.collectionPoints;
+        for(int collection = 0; collection < collectionPoints.length; collection++){
+            int shift = collection * COUNT_BITS, points = collectionPoints[collection];
+            for(int d = 0; d < numDrafts; d++){
+                scores.collection[d] += ((collectionCounts[d] >>> shift) & MAX_CARDS_PER_DRAFT) * points;
+            }
+        }
+
+        int[] animalPairPoints = this.spec.animalPairPoints;
+        for(int animal = 0; animal < animalPairPoints.length; animal++){
+            int shift = animal * COUNT_BITS, points = animalPairPoints[animal];
+            for(int d = 0; d < numDrafts; d++){
+                scores.animal[d] += ((animalCounts[d] >>> shift) & MAX_CARDS_PER_DRAFT) / 2 * points;
+            }
+        }
+
+        int[] activityPoints = this.spec.activityPoints;
+        for(int d = 0; d < numDrafts; d++){
+            scores.collection[d] = this.spec.getCollectionScore(scores.collection[d]);
+            int numActivity = activityCounts[d];
+            boolean scored = activities != null && activities[d] >= 0 && numActivity < activityPoints.length;
+            scores.activity[d] = scored ? activityPoints[numActivity] : 0;
+        }
+    }
+
+    /**
+     * Loads the vector kernel if the incubator module is in the boot layer.
+     * 
+     * @return The vector kernel, or null if it can not be used.
+     */
+    private static LoadedKernel loadVectorKernel(){
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()){
+            return null;
+        }
+        try {
+            return (LoadedKernel) Class.forName("Player.ScoresheetAustraliaVector").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the ordinal of an activity, for the activities of a batch.
+     * 
+     * @param activity The name of an activity, as written on the cards.
+     * @return The ordinal of the activity, or -1 if there is no such activity.
+     */
+    public static int getActivityOrdinal(String activity){
+        Activity chosenActivity = Activity.get(activity);
+        return chosenActivity == null ? -1 : chosenActivity.ordinal();
+    }
+}
@@ -0,0 +1,205 @@
+package Player;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import Cards.AbstractCardsFactory;
+import Cards.AustraliaCard.Animal;
+import Cards.AustraliaCard.Collection;
+import Exception.ScoresheetException;
+
+/**
+ * The scoring rules of an edition: what each collection and pair of animals is worth, the
+ * points for the activities and the bonus for completing a region first. The rules are
+ * written in a JSON spec next to the folder of the cards of the edition, for example
+ * resources/Card/AustraliaCards.scoring.JSON, and are compiled into tables stored by the
+ * ordinals of the card attributes, so scoring a card never compares any strings.
+ * 
+ * {
+ *     "collections": {"Leaves": 1, "Wildflowers": 2, ...},
+ *     "collectionDoubleLimit": 8,
+ *     "animalPairs": {"Kangaroos": 3, "Emus": 4, ...},
+ *     "activities": [0, 0, 2, 4, 7, 10, 15],
+ *     "regionBonus": 3
+ * }
+ * 
+ * Every edition is only compiled once, after which all games share the same spec.
+ * A spec never changes after it has been compiled.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class ScoringSpec {
+    /**
+     * The folder the specs are stored in, next to the folders of the cards.
+     */
+    private static final String SPEC_FOLDER = "resources/Card/";
+
+    /**
+     * The specs that have been compiled, stored by the name of the folder of the edition.
+     */
+    private static final ConcurrentHashMap<String, ScoringSpec> specs = new ConcurrentHashMap<String, ScoringSpec>();
+
+    /**
+     * The points for each card of a collection, by the ordinal of the collection.
+     */
+    final int[] collectionPoints = new int[Collection.values().length];
+
+    /**
+     * Collection scores below this value are doubled.
+     */
+    final int collectionDoubleLimit;
+
+    /**
+     * The points for each pair of an animal, by the ordinal of the animal.
+     */
+    final int[] animalPairPoints = new int[Animal.values().length];
+
+    /**
+     * The points for an activity, by the number of cards with the activity.
+     * More cards than the table has give no points.
+     */
+    final int[] activityPoints;
+
+    /**
+     * The points for being the first to complete a region.
+     */
+    final int regionBonus;
+
+    /**
+     * The spec as it is written in the JSON file.
+     */
+    private static class SpecFile {
+        Map<String, Integer> collections;
+        Integer collectionDoubleLimit;
+        Map<String, Integer> animalPairs;
+        int[] activities;
+        Integer regionBonus;
+    }
+
+    /**
+     * Compiles a spec into tables.
+     * 
+     * @param file The spec as it is written in the JSON file.
+     * @throws ScoresheetException Thrown when the spec is missing a field, has a negative limit or bonus,
+     * or names a collection or animal that does not exist.
+     */
+    private ScoringSpec(SpecFile file) throws ScoresheetException{
+        if(file.collections == null || file.collectionDoubleLimit == null || file.animalPairs == null || file.activities == null || file.regionBonus == null){
+            throw new ScoresheetException("the spec must have the fields \"collections\", \"collectionDoubleLimit\", \"animalPairs\", \"activities\" and \"regionBonus\"");
+        }
+        if(file.collectionDoubleLimit < 0 || file.regionBonus < 0){
+            throw new ScoresheetException("the fields \"collectionDoubleLimit\" and \"regionBonus\" can not be negative");
+        }
+
+        for(Map.Entry<String, Integer> entry : file.collections.entrySet()){
+            Collection collection = Collection.get(entry.getKey());
+            if(collection == null){
+                throw new ScoresheetException("the field \"collections\" has points for a collection that does not exist (\"" + entry.getKey() + "\")");
+            }
+            this.collectionPoints[collection.ordinal()] = entry.getValue();
+        }
+
+        for(Map.Entry<String, Integer> entry : file.animalPairs.entrySet()){
+            Animal animal = Animal.get(entry.getKey());
+            if(animal == null){
+                throw new ScoresheetException("the field \"animalPairs\" has points for an animal that does not exist (\"" + entry.getKey() + "\")");
+            }
+            this.animalPairPoints[animal.ordinal()] = entry.getValue();
+        }
+
+        this.collectionDoubleLimit = file.collectionDoubleLimit;
+        this.activityPoints = file.activities.clone();
+        this.regionBonus = file.regionBonus;
+    }
+
+    /**
+     * Gets the scoring spec of an edition, compiling it if this is the first time it is used.
+     * 
+     * @param factory The abstract card factory for the edition.
+     * @return The compiled scoring spec of the edition.
+     * @throws ScoresheetException Thrown when the spec could not be read or is malformed.
+     */
+    public static ScoringSpec get(AbstractCardsFactory factory) throws ScoresheetException{
+        String folder = factory.getFolderNameCards();
+        ScoringSpec spec = specs.get(folder);
+        if(spec == null){
+            spec = load(SPEC_FOLDER + folder + ".scoring.JSON");
+            ScoringSpec current = specs.putIfAbsent(folder, spec);
+            if(current != null){
+                spec = current;
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * Reads and compiles a scoring spec.
+     * 
+     * @param path The path to the JSON file with the spec.
+     * @return The compiled scoring spec.
+     * @throws ScoresheetException Thrown when the spec could not be read or is malformed.
+     */
+    public static ScoringSpec load(String path) throws ScoresheetException{
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            SpecFile file = new Gson().fromJson(reader, SpecFile.class);
+            if(file == null){
+                throw new ScoresheetException("the file is empty");
+            }
+            return new ScoringSpec(file);
+        } catch (ScoresheetException | IOException | JsonParseException e) {
+            throw new ScoresheetException("Could not load the scoring spec " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Gets the collection score for some collection points.
+     * 
+     * @param points The collection points of the drafted cards.
+     * @return The collection score.
+     */
+    public int getCollectionScore(int points){
+        if(points < this.collectionDoubleLimit && points > 0){
+            return points*2;
+        }
+        return points;
+    }
+
+    /**
+     * @param collection A collection.
+     * @return The points for each card of the collection.
+     */
+    public int getCollectionPoints(Collection collection){
+        return this.collectionPoints[collection.ordinal()];
+    }
+
+    /**
+     * @param animal An animal.
+     * @return The points for each pair of the animal.
+     */
+    public int getAnimalPairPoints(Animal animal){
+        return this.animalPairPoints[animal.ordinal()];
+    }
+
+    /**
+     * @param numCards The number of cards with the chosen activity.
+     * @return The points for the activity.
+     */
+    public int getActivityPoints(int numCards){
+        return numCards >= 0 && numCards < this.activityPoints.length ? this.activityPoints[numCards] : 0;
+    }
+
+    /**
+     * @return The points for being the first to complete a region.
+     */
+    public int getRegionBonus(){
+        return this.regionBonus;
+    }
+}
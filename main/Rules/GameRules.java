@@ -12,12 +12,14 @@ package Rules;
  */
 public interface GameRules {
     /**
-     * Gets the direction that cards are being passed.
+     * Gets the direction that cards are passed in a pass of a round. Does not change
+     * the rules, so the same rules can be used by any number of games at the same time.
      * 
-     * @return The direction that cards are being passed.
+     * @param pass The number of the pass in the round, starting at 0.
+     * @return The direction that cards are passed.
      * False = left, True = right.
      */
-    public boolean getDirection();
+    public boolean getDirection(int pass);
 
     /**
      * Gets the number of rounds for the game.
@@ -16,22 +16,15 @@ public class StandardRules implements GameRules {
     final private int MIN_NUM_PLAYERS = 2;
 
     /**
-     * Keeps track of the number of cards each player has.
+     * Gets the direction cards are passed in a pass of a round. Cards are passed to the
+     * right for every card except for the last one.
      */
-    private int cardsLeft = this.NUM_CARDS_PLAYER;
-
-    /**
-     * Gets the direction cards are passed. Cards are passed to the right for every card except
-     * for the last one.
-     */
-    public boolean getDirection(){ 
-        this.cardsLeft--;
-        if(this.cardsLeft == 1){
-            this.cardsLeft = this.NUM_CARDS_PLAYER;
+    public boolean getDirection(int pass){
+        if(pass == this.NUM_CARDS_PLAYER - 2){ // the last card
             return !this.DIRECTION;
         }
         return this.DIRECTION;
-    } 
+    }
 
     public int getNumRounds(){
         return this.ROUNDS;
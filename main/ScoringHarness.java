@@ -0,0 +1,429 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import Cards.*;
+import Cards.AustraliaCard.Activity;
+import Cards.AustraliaCard.Region;
+import Player.*;
+import Exception.OptionalScoreException;
+
+/**
+ * Checks a faster scorer against ScoresheetAustralia, the reference for how Boomerang
+ * Australia is scored. Legal drafts are either generated at random from a seed, or every
+ * combination of cards is tried, and each draft is scored both by the scorer being checked
+ * and by a ScoresheetAustralia through a Hand, the same way a game scores it. The drafts
+ * are split between all processors.
+ * 
+ * The first mismatch is reported with everything needed to reproduce it: the seed and the
+ * position of the draft for random drafts, or the rank of the combination for exhaustive
+ * checks.
+ * 
+ * Run from the command line as
+ * 
+ * java ScoringHarness random [number of drafts] [seed]
+ * java ScoringHarness exhaustive [first combination] [number of combinations]
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class ScoringHarness {
+    /**
+     * The number of drafts scored by the scorer being checked at a time.
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * A scorer that scores a batch of drafts, with the same arguments as ScoresheetAustraliaBatch.score.
+     */
+    public interface BatchScorer {
+        void score(int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, ScoresheetAustraliaBatch.Scores scores);
+    }
+
+    /**
+     * A draft that was not scored the same way by the scorer being checked and the reference.
+     */
+    public static class Mismatch {
+        /**
+         * How to find the draft again, the seed and position or the rank of the combination.
+         */
+        private final String source;
+
+        /**
+         * The position of the draft among all drafts checked, used to find the first mismatch.
+         */
+        private final long position;
+        private final Card[] draft;
+        private final long visitedSites;
+        private final int claimedRegions;
+        private final int activity;
+        private final int[] expected;
+        private final int[] actual;
+
+        Mismatch(String source, long position, Card[] draft, long visitedSites, int claimedRegions, int activity, int[] expected, int[] actual){
+            this.source = source;
+            this.position = position;
+            this.draft = draft;
+            this.visitedSites = visitedSites;
+            this.claimedRegions = claimedRegions;
+            this.activity = activity;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        /**
+         * @return A description of the mismatch, with the seed or rank needed to reproduce it.
+         */
+        @Override
+        public String toString(){
+            String cards = "";
+            for(Card card : this.draft){
+                cards += card.getSite();
+            }
+            return "Mismatch at " + this.source + ": draft " + cards + " (throw card first, catch card last), visited sites 0x"
+                + Long.toHexString(this.visitedSites) + ", claimed regions 0x" + Integer.toHexString(this.claimedRegions)
+                + ", activity " + this.activity + ". Expected (throw and catch, tourist, collection, animal, activity) "
+                + Arrays.toString(this.expected) + " but got " + Arrays.toString(this.actual);
+        }
+    }
+
+    /**
+     * The cards drafts are made from, and their packed form.
+     */
+    private final Card[] deck;
+    private final int[] codes;
+
+    /**
+     * The attribute index of the cards and the scoring rules of the edition.
+     */
+    private final CardIndex index;
+    private final ScoringSpec spec;
+
+    /**
+     * The number of cards in each draft.
+     */
+    private final int cardsPerDraft;
+
+    /**
+     * Creates a harness for drafts of the cards in a snapshot.
+     * 
+     * @param snapshot The cards drafts are made from.
+     * @param spec The scoring rules of the edition.
+     * @param cardsPerDraft The number of cards in each draft, including the throw card and catch card.
+     */
+    public ScoringHarness(CardSnapshot snapshot, ScoringSpec spec, int cardsPerDraft){
+        this.deck = snapshot.getCards().toArray(new Card[0]);
+        this.codes = CardCodec.encode(this.deck);
+        this.index = snapshot.getIndex();
+        this.spec = spec;
+        this.cardsPerDraft = cardsPerDraft;
+    }
+
+    /**
+     * Checks a scorer against the reference with random drafts.
+     * 
+     * @param scorer The scorer being checked.
+     * @param seed The seed of the drafts. The same seed always gives the same drafts. The random
+     * numbers of each batch of BATCH_SIZE drafts are split in order from a SplittableRandom created
+     * with the seed, batch number i getting split number i.
+     * @param numDrafts The number of drafts to check.
+     * @return The first mismatch, or null if all drafts were scored the same way.
+     */
+    public Mismatch checkRandom(BatchScorer scorer, long seed, long numDrafts){
+        int numBatches = (int)((numDrafts + BATCH_SIZE - 1) / BATCH_SIZE);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[numBatches];
+        for(int batch = 0; batch < numBatches; batch++){ // split here, so the drafts do not depend on the threads
+            randoms[batch] = seeds.split();
+        }
+
+        return this.runParallel(numBatches, batch -> {
+            SplittableRandom random = randoms[batch];
+            int size = (int)Math.min(BATCH_SIZE, numDrafts - (long)batch * BATCH_SIZE);
+            int[][] drafts = new int[size][];
+            long[] visitedSites = new long[size];
+            int[] activities = new int[size];
+            int claimedRegions = random.nextInt(1 << Region.values().length) & random.nextInt(1 << Region.values().length);
+            int[] order = new int[this.deck.length];
+
+            for(int d = 0; d < size; d++){
+                for(int i = 0; i < order.length; i++){
+                    order[i] = i;
+                }
+                for(int i = 0; i < this.cardsPerDraft; i++){ // the first cards of a partial shuffle
+                    int j = i + random.nextInt(order.length - i);
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                }
+                drafts[d] = Arrays.copyOf(order, this.cardsPerDraft);
+                visitedSites[d] = random.nextLong() & random.nextLong() & this.index.getAllCards();
+                activities[d] = random.nextInt(Activity.values().length + 1) - 1;
+            }
+
+            return this.check(scorer, drafts, visitedSites, claimedRegions, activities, (long)batch * BATCH_SIZE, d -> "seed " + seed + ", draft " + ((long)batch * BATCH_SIZE + d));
+        });
+    }
+
+    /**
+     * Checks a scorer against the reference with every combination of cards, in order.
+     * The cards of a combination are drafted in the order of the deck. No sites have been
+     * visited and no regions claimed, and the activities are taken in turn.
+     * 
+     * @param scorer The scorer being checked.
+     * @param first The rank of the first combination to check.
+     * @param count The number of combinations to check.
+     * @return The first mismatch, or null if all drafts were scored the same way.
+     */
+    public Mismatch checkExhaustive(BatchScorer scorer, long first, long count){
+        long last = Math.min(first + count, this.getNumCombinations());
+        int numBatches = (int)((Math.max(0, last - first) + BATCH_SIZE - 1) / BATCH_SIZE);
+
+        return this.runParallel(numBatches, batch -> {
+            long start = first + (long)batch * BATCH_SIZE;
+            int size = (int)Math.min(BATCH_SIZE, last - start);
+            int[][] drafts = new int[size][];
+            int[] activities = new int[size];
+            int[] combination = this.unrank(start);
+
+            for(int d = 0; d < size; d++){
+                drafts[d] = combination.clone();
+                activities[d] = (int)((start + d) % (Activity.values().length + 1)) - 1;
+                this.nextCombination(combination);
+            }
+
+            return this.check(scorer, drafts, new long[size], 0, activities, start, d -> "combination " + (start + d));
+        });
+    }
+
+    /**
+     * @return The number of combinations of cards that can be drafted.
+     */
+    public long getNumCombinations(){
+        return binomial(this.deck.length, this.cardsPerDraft);
+    }
+
+    /**
+     * Scores a batch with the scorer being checked and with the reference, and compares them.
+     * 
+     * @param scorer The scorer being checked.
+     * @param drafts The positions in the deck of the cards of each draft.
+     * @param visitedSites The sites visited before each draft.
+     * @param claimedRegions The regions claimed in earlier rounds, as a mask of region ordinals.
+     * @param activities The ordinal of the activity of each draft, or -1.
+     * @param position The position of the first draft of the batch among all drafts checked.
+     * @param source Describes how to find a draft again.
+     * @return The first mismatch in the batch, or null.
+     */
+    private Mismatch check(BatchScorer scorer, int[][] drafts, long[] visitedSites, int claimedRegions, int[] activities, long position, IntFunction<String> source){
+        int numDrafts = drafts.length;
+        int[] packed = new int[numDrafts * this.cardsPerDraft];
+        for(int d = 0; d < numDrafts; d++){
+            for(int slot = 0; slot < this.cardsPerDraft; slot++){
+                packed[slot * numDrafts + d] = this.codes[drafts[d][slot]];
+            }
+        }
+
+        ScoresheetAustraliaBatch.Scores scores = new ScoresheetAustraliaBatch.Scores(numDrafts);
+        scorer.score(packed, numDrafts, visitedSites, claimedRegions, activities, scores);
+
+        ArrayList<String> claimed = new ArrayList<String>();
+        for(Region region : Region.values()){
+            if((claimedRegions & (1 << region.ordinal())) != 0){
+                claimed.add(region.getName());
+            }
+        }
+
+        for(int d = 0; d < numDrafts; d++){
+            Card[] draft = new Card[this.cardsPerDraft];
+            for(int slot = 0; slot < this.cardsPerDraft; slot++){
+                draft[slot] = this.deck[drafts[d][slot]];
+            }
+
+            int[] expected = this.reference(draft, visitedSites[d], claimed, activities[d]);
+            int[] actual = {scores.throwCatch[d], scores.tourist[d], scores.collection[d], scores.animal[d], scores.activity[d]};
+            if(!Arrays.equals(expected, actual)){
+                return new Mismatch(source.apply(d), position + d, draft, visitedSites[d], claimedRegions, activities[d], expected, actual);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scores a draft the same way a game does, with a ScoresheetAustralia.
+     * 
+     * @param draft The cards of the draft, the throw card first and the catch card last.
+     * @param visitedSites The sites visited before the draft.
+     * @param claimed The regions claimed in earlier rounds.
+     * @param activity The ordinal of the activity, or -1.
+     * @return The scores for throw and catch, tourist, collection, animal and activity.
+     */
+    private int[] reference(Card[] draft, long visitedSites, ArrayList<String> claimed, int activity){
+        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        playerScore.setCardIndex(this.index);
+        playerScore.setScoringSpec(this.spec);
+        RegionClaims regionClaims = new RegionClaims();
+        for(String region : claimed){ // completed in an earlier round
+            regionClaims.claim(0, region);
+        }
+        regionClaims.endRound();
+        playerScore.setRegionClaims(regionClaims, 0);
+        for(long sites = visitedSites; sites != 0; sites &= sites - 1){
+            playerScore.addVisitedSite(this.index.getCard(Long.numberOfTrailingZeros(sites)));
+        }
+
+        Hand hand = new Hand(draft);
+        for(int i = 0; i < draft.length - 1; i++){
+            hand.selectCard(draft[i]);
+        }
+        hand.setCatchCard(draft[draft.length - 1]);
+        if(activity >= 0){
+            hand.setRoundOptional(Activity.values()[activity].getName());
+        }
+
+        try {
+            playerScore.setRoundScore(hand, activity >= 0);
+        } catch (OptionalScoreException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return new int[]{playerScore.getThrowCatchScore(), playerScore.getTouristScore(), playerScore.getCollectionScore(), playerScore.getAnimalScore(), playerScore.getOptionalScore()};
+    }
+
+    /**
+     * Runs tasks on all processors and finds the first mismatch.
+     * 
+     * @param numTasks The number of tasks.
+     * @param task Checks a batch of drafts.
+     * @return The mismatch with the lowest position, or null if there was none.
+     */
+    private Mismatch runParallel(int numTasks, IntFunction<Mismatch> task){
+        ExecutorService threads = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "ScoringHarness");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<Mismatch>> running = new ArrayList<CompletableFuture<Mismatch>>();
+            for(int i = 0; i < numTasks; i++){
+                final int batch = i;
+                running.add(CompletableFuture.supplyAsync(() -> task.apply(batch), threads));
+            }
+
+            Mismatch first = null;
+            for(CompletableFuture<Mismatch> future : running){
+                Mismatch mismatch = future.join();
+                if(mismatch != null && (first == null || mismatch.position < first.position)){
+                    first = mismatch;
+                }
+            }
+            return first;
+        } catch (CompletionException e) {
+            throw new IllegalStateException("The scorer failed: " + e.getCause(), e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Finds the combination with a rank, in lexicographic order.
+     * 
+     * @param rank The rank of the combination.
+     * @return The positions in the deck of the cards of the combination, in increasing order.
+     */
+    private int[] unrank(long rank){
+        int[] combination = new int[this.cardsPerDraft];
+        int next = 0;
+        for(int i = 0; i < this.cardsPerDraft; i++){
+            while(true){
+                long following = binomial(this.deck.length - next - 1, this.cardsPerDraft - i - 1);
+                if(rank < following){
+                    break;
+                }
+                rank -= following;
+                next++;
+            }
+            combination[i] = next++;
+        }
+        return combination;
+    }
+
+    /**
+     * Changes a combination into the next one in lexicographic order.
+     * 
+     * @param combination The positions in the deck of the cards of the combination.
+     */
+    private void nextCombination(int[] combination){
+        int k = combination.length, n = this.deck.length;
+        int i = k - 1;
+        while(i >= 0 && combination[i] == n - k + i){
+            i--;
+        }
+        if(i < 0){
+            return;
+        }
+        combination[i]++;
+        for(int j = i + 1; j < k; j++){
+            combination[j] = combination[j - 1] + 1;
+        }
+    }
+
+    /**
+     * @return The number of ways to choose k of n things.
+     */
+    private static long binomial(int n, int k){
+        if(k < 0 || k > n){
+            return 0;
+        }
+        long result = 1;
+        for(int i = 1; i <= k; i++){
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    /**
+     * Checks both kernels of ScoresheetAustraliaBatch and prints the first mismatch and the throughput.
+     * 
+     * @param args "random", the number of drafts and the seed, or "exhaustive", the first
+     * combination and the number of combinations.
+     * @throws Exception Thrown when the cards or the scoring spec could not be loaded.
+     */
+    public static void main(String[] args) throws Exception{
+        AustraliaCardsFactory factory = new AustraliaCardsFactory();
+        CardSnapshot snapshot = CardRegistry.getSnapshot(factory);
+        ScoringSpec spec = ScoringSpec.get(factory);
+        int cardsPerDraft = 7;
+        ScoringHarness harness = new ScoringHarness(snapshot, spec, cardsPerDraft);
+        boolean exhaustive = args.length > 0 && args[0].equals("exhaustive");
+
+        for(ScoresheetAustraliaBatch.Kernel kernel : ScoresheetAustraliaBatch.Kernel.values()){
+            BatchScorer scorer = new ScoresheetAustraliaBatch(snapshot.getIndex(), spec, cardsPerDraft, kernel)::score;
+            long start = System.nanoTime();
+            long count;
+            Mismatch mismatch;
+
+            if(exhaustive){
+                long first = args.length > 1 ? Long.parseLong(args[1]) : 0;
+                count = Math.min(args.length > 2 ? Long.parseLong(args[2]) : harness.getNumCombinations(), harness.getNumCombinations() - first);
+                mismatch = harness.checkExhaustive(scorer, first, count);
+            } else {
+                count = args.length > 1 ? Long.parseLong(args[1]) : 1000000;
+                long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+                System.out.println("Seed: " + seed);
+                mismatch = harness.checkRandom(scorer, seed, count);
+            }
+
+            double minutes = (System.nanoTime() - start) / 60e9;
+            System.out.println(kernel + ": " + (mismatch == null ? "no mismatches" : mismatch) + " (" + count + " drafts, " + Math.round(count / minutes) + " per minute)");
+        }
+    }
+}
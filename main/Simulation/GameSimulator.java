@@ -0,0 +1,396 @@
+package Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import Bot.BotBehavior;
+import Cards.*;
+import Player.*;
+import Rules.GameRules;
+import Exception.OptionalScoreException;
+import Exception.PlayerAmountException;
+
+/**
+ * Plays whole games of Boomerang between bots as fast as possible, for balance testing
+ * and tuning bots. The games follow the same GameRules, are scored by the same Scoresheets
+ * and the bots choose their cards with the same BotBehavior as in a normal game, but there
+ * are no players, states, consoles or messages. The hands are dealt, drafted and passed
+ * straight on the Hand of each seat.
+ * 
+ * A simulator does not change once it has been created, so many games can be played at the
+ * same time as long as the bot behaviors do not keep any state other than the random
+ * numbers they are given. The rules are shared by all games, and every game gets its own
+ * Scoresheets and random numbers.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class GameSimulator {
+    /**
+     * The number of games played by a task at a time when games are played in parallel.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The cards of the edition, in the order they are in before being shuffled.
+     */
+    private final Card[] deck;
+
+    /**
+     * The attribute index of the cards.
+     */
+    private final CardIndex cardIndex;
+
+    /**
+     * How points are scored in the edition.
+     */
+    private final ScoringSpec scoringSpec;
+
+    /**
+     * The rules of the games, shared by all games.
+     */
+    private final GameRules rules;
+
+    /**
+     * Creates a new Scoresheet of the edition for every seat of every game.
+     */
+    private final Supplier<Scoresheet> scoresheets;
+
+    /**
+     * The behavior of the bot in each seat.
+     */
+    private final BotBehavior[] behaviors;
+
+    /**
+     * The number of rounds in a game.
+     */
+    private final int numRounds;
+
+    /**
+     * The number of cards dealt to each player every round.
+     */
+    private final int cardsPerPlayer;
+
+    /**
+     * The results of a number of simulated games.
+     */
+    public static class Results {
+        /**
+         * The number of games played.
+         */
+        private int numGames = 0;
+
+        /**
+         * The sum of the final scores of each seat over all games.
+         */
+        private final long[] totalScores;
+
+        /**
+         * The number of games won by each seat.
+         */
+        private final int[] wins;
+
+        /**
+         * Creates empty results.
+         * 
+         * @param numPlayers The number of seats.
+         */
+        Results(int numPlayers){
+            this.totalScores = new long[numPlayers];
+            this.wins = new int[numPlayers];
+        }
+
+        /**
+         * Adds the final scores of a game.
+         * 
+         * @param scores The final score of each seat.
+         * @param winner The seat that won.
+         */
+        void add(int[] scores, int winner){
+            for(int seat = 0; seat < scores.length; seat++){
+                this.totalScores[seat] += scores[seat];
+            }
+            this.wins[winner]++;
+            this.numGames++;
+        }
+
+        /**
+         * Adds the results of other games.
+         * 
+         * @param other The results of the other games.
+         */
+        void add(Results other){
+            for(int seat = 0; seat < this.wins.length; seat++){
+                this.totalScores[seat] += other.totalScores[seat];
+                this.wins[seat] += other.wins[seat];
+            }
+            this.numGames += other.numGames;
+        }
+
+        /**
+         * @return The number of games played.
+         */
+        public int getNumGames(){
+            return this.numGames;
+        }
+
+        /**
+         * @param seat The seat.
+         * @return The sum of the final scores of the seat over all games.
+         */
+        public long getTotalScore(int seat){
+            return this.totalScores[seat];
+        }
+
+        /**
+         * @param seat The seat.
+         * @return The average final score of the seat, or 0 if no games were played.
+         */
+        public double getAverageScore(int seat){
+            return this.numGames == 0 ? 0 : (double)this.totalScores[seat] / this.numGames;
+        }
+
+        /**
+         * @param seat The seat.
+         * @return The number of games won by the seat.
+         */
+        public int getWins(int seat){
+            return this.wins[seat];
+        }
+    }
+
+    /**
+     * Creates a simulator for games between bots.
+     * 
+     * @param snapshot The cards of the edition.
+     * @param scoringSpec How points are scored in the edition.
+     * @param rules The rules of the games.
+     * @param scoresheets Creates a Scoresheet of the edition.
+     * @param behaviors The behavior of the bot in each seat, one for each player.
+     * @throws PlayerAmountException Thrown if the rules do not allow the number of players, or there are not enough cards to deal to all of them.
+     */
+    public GameSimulator(CardSnapshot snapshot, ScoringSpec scoringSpec, GameRules rules, Supplier<Scoresheet> scoresheets, BotBehavior... behaviors) throws PlayerAmountException{
+        if(behaviors.length < rules.getMinNumPlayers() || behaviors.length > rules.getMaxNumPlayers()){
+            throw new PlayerAmountException("A game needs between " + rules.getMinNumPlayers() + " and " + rules.getMaxNumPlayers() + " players, not " + behaviors.length + ".");
+        }
+        if(behaviors.length * rules.getCardsPerPlayer() > snapshot.getCards().size()){
+            throw new PlayerAmountException("There are not enough cards to deal to " + behaviors.length + " players.");
+        }
+
+        this.deck = snapshot.getCards().toArray(new Card[snapshot.getCards().size()]);
+        this.cardIndex = snapshot.getIndex();
+        this.scoringSpec = scoringSpec;
+        this.rules = rules;
+        this.scoresheets = scoresheets;
+        this.behaviors = behaviors.clone();
+        this.numRounds = rules.getNumRounds();
+        this.cardsPerPlayer = rules.getCardsPerPlayer();
+    }
+
+    /**
+     * Plays one game.
+     * 
+     * @param random The random numbers of the game, split between the deck and the bots.
+     * @return The final score of each seat.
+     * @throws OptionalScoreException Thrown if a bot scores the same optional action more than once.
+     */
+    public int[] playGame(SplittableRandom random) throws OptionalScoreException{
+        return this.playGame(random, new int[this.behaviors.length]);
+    }
+
+    /**
+     * Plays one game and keeps the throw-catch scores, which decide the winner if the scores are the same.
+     * 
+     * @param random The random numbers of the game, split between the deck and the bots.
+     * @param throwCatchScores Filled with the throw-catch score of each seat.
+     * @return The final score of each seat.
+     * @throws OptionalScoreException Thrown if a bot scores the same optional action more than once.
+     */
+    private int[] playGame(SplittableRandom random, int[] throwCatchScores) throws OptionalScoreException{
+        int numPlayers = this.behaviors.length;
+        RegionClaims regionClaims = new RegionClaims();
+        Card[] deck = this.deck.clone();
+
+        // the deck and each bot get random numbers of their own, as in a GameClient
+        SplittableRandom deckRandom = random.split();
+        BotBehavior[] behaviors = new BotBehavior[numPlayers];
+        for(int seat = 0; seat < numPlayers; seat++){
+            behaviors[seat] = this.behaviors[seat].withRandom(random.split());
+        }
+
+        Scoresheet[] playerScores = new Scoresheet[numPlayers];
+        for(int seat = 0; seat < numPlayers; seat++){
+            playerScores[seat] = this.scoresheets.get();
+            playerScores[seat].setCardIndex(this.cardIndex);
+            playerScores[seat].setScoringSpec(this.scoringSpec);
+            playerScores[seat].setRegionClaims(regionClaims, seat);
+        }
+
+        Hand[] hands = new Hand[numPlayers];
+        for(int round = 0; round < this.numRounds; round++){
+            shuffle(deck, deckRandom);
+            for(int seat = 0; seat < numPlayers; seat++){
+                Card[] cardsForHand = new Card[this.cardsPerPlayer];
+                System.arraycopy(deck, seat * this.cardsPerPlayer, cardsForHand, 0, this.cardsPerPlayer);
+                hands[seat] = new Hand(cardsForHand);
+            }
+
+            this.draft(hands, behaviors);
+
+            for(int seat = 0; seat < numPlayers; seat++){
+                boolean countOptional = BotPlayer.chooseOptional(hands[seat], playerScores[seat], behaviors[seat]);
+                playerScores[seat].setRoundScore(hands[seat], countOptional);
+            }
+            regionClaims.endRound();
+        }
+
+        int[] scores = new int[numPlayers];
+        for(int seat = 0; seat < numPlayers; seat++){
+            scores[seat] = playerScores[seat].getTotalScore();
+            throwCatchScores[seat] = playerScores[seat].getThrowCatchScore();
+        }
+        return scores;
+    }
+
+    /**
+     * Plays many games, split between all processors. The random numbers of each game are
+     * split in order from a SplittableRandom created with the seed, game number i getting
+     * split number i, so the same seed always plays the same games, and game number i can be
+     * played again on its own with playGame and that split.
+     * 
+     * @param numGames The number of games to play.
+     * @param seed The seed the random numbers of all games are split from.
+     * @return The results of all games.
+     * @throws OptionalScoreException Thrown if a bot scores the same optional action more than once.
+     */
+    public Results playGames(int numGames, long seed) throws OptionalScoreException{
+        int numBatches = (numGames + BATCH_SIZE - 1) / BATCH_SIZE;
+        ExecutorService threads = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "GameSimulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<Results>> running = new ArrayList<CompletableFuture<Results>>();
+            SplittableRandom seeds = new SplittableRandom(seed);
+            for(int i = 0; i < numBatches; i++){
+                SplittableRandom[] randoms = new SplittableRandom[Math.min(BATCH_SIZE, numGames - i * BATCH_SIZE)];
+                for(int game = 0; game < randoms.length; game++){ // split here, so the games do not depend on the threads
+                    randoms[game] = seeds.split();
+                }
+                running.add(CompletableFuture.supplyAsync(() -> this.playBatch(randoms), threads));
+            }
+
+            Results results = new Results(this.behaviors.length);
+            for(CompletableFuture<Results> future : running){
+                results.add(future.join());
+            }
+            return results;
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof OptionalScoreException){
+                throw (OptionalScoreException)e.getCause();
+            }
+            throw new IllegalStateException("A simulated game failed: " + e.getCause(), e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a batch of games on one thread.
+     * 
+     * @param randoms The random numbers of each game in the batch.
+     * @return The results of the games.
+     */
+    private Results playBatch(SplittableRandom[] randoms){
+        Results results = new Results(this.behaviors.length);
+
+        int[] throwCatchScores = new int[this.behaviors.length];
+
+        try {
+            for(SplittableRandom random : randoms){
+                int[] scores = this.playGame(random, throwCatchScores);
+                results.add(scores, findWinner(scores, throwCatchScores));
+            }
+        } catch (OptionalScoreException e) {
+            throw new CompletionException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Lets the bots draft all cards of a round. Every bot picks a card from its hand and the
+     * hands are passed in the direction given by the rules, until one card is left in each hand,
+     * which becomes the catch card.
+     * 
+     * @param hands The hand of each seat.
+     * @param behaviors The behavior of the bot in each seat.
+     */
+    private void draft(Hand[] hands, BotBehavior[] behaviors){
+        int numPlayers = hands.length;
+
+        for(int pass = 0; pass < this.cardsPerPlayer - 1; pass++){
+            for(int seat = 0; seat < numPlayers; seat++){
+                Hand playerHand = hands[seat];
+                if(playerHand.getThrowCard() == null){
+                    playerHand.selectCard(behaviors[seat].chooseThrowCard(playerHand.getCards()));
+                } else {
+                    playerHand.selectCard(behaviors[seat].chooseCard(playerHand.getCards()));
+                }
+            }
+
+            int offset = this.rules.getDirection(pass) ? 1 : -1; // true = right = next seat
+            for(int seat = 0; seat < numPlayers; seat++){
+                hands[seat].passCards(hands[Math.floorMod(seat + offset, numPlayers)]);
+            }
+            for(Hand playerHand : hands){
+                playerHand.takeNextCards();
+            }
+        }
+
+        for(Hand playerHand : hands){
+            playerHand.setCatchCard(playerHand.getCard(0));
+        }
+    }
+
+    /**
+     * Finds the winner of a game the same way as GameOverState: the highest score wins, then
+     * the highest throw-catch score, then the first seat.
+     * 
+     * @param scores The final score of each seat.
+     * @param throwCatchScores The throw-catch score of each seat.
+     * @return The seat that won.
+     */
+    private static int findWinner(int[] scores, int[] throwCatchScores){
+        int winner = 0;
+        for(int seat = 1; seat < scores.length; seat++){
+            if(scores[seat] > scores[winner] || (scores[seat] == scores[winner] && throwCatchScores[seat] > throwCatchScores[winner])){
+                winner = seat;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Shuffles cards with the Fisher-Yates shuffle.
+     * 
+     * @param cards The cards to shuffle.
+     * @param random The random numbers used to shuffle.
+     */
+    private static void shuffle(Card[] cards, SplittableRandom random){
+        for(int i = cards.length - 1; i > 0; i--){
+            int j = random.nextInt(i + 1);
+            Card swap = cards[i];
+            cards[i] = cards[j];
+            cards[j] = swap;
+        }
+    }
+}
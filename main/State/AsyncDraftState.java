@@ -0,0 +1,113 @@
+package State;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import Cards.Card;
+import GameClient.GameClient;
+import Player.*;
+
+/**
+ * Extension of game state that handles the whole draft of a round when the players draft
+ * asynchronously. Replaces ChooseCardState, ViewDraftState and PassCardsState: every player
+ * picks a card, passes the rest of their hand to their neighbour and picks from the next hand
+ * as soon as it has been passed to them, without waiting for the other players.
+ * 
+ * If a player fails, every other player stops drafting and the state ends with the failure.
+ * 
+ * The hands still move one seat per pick. Each seat has a queue of the hands passed to it
+ * for each direction, and since a neighbour passes its hands in order, the n:th hand taken
+ * from the queue of the direction of the n:th pass is always the right one.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public class AsyncDraftState extends GameState {
+    /**
+     * Passed to every seat when a player fails, telling the other players to stop drafting.
+     */
+    private static final Card[] STOP = new Card[0];
+
+    /**
+     * Runs the state. Lets all players draft all their cards except the catch card, and
+     * waits until every player has been passed their last card.
+     */
+    public GameState runState(GameClient gameClient){
+        ArrayList<Player> allPlayers = gameClient.getPlayers();
+        int numPlayers = allPlayers.size();
+        int numPasses = gameClient.getRules().getCardsPerPlayer() - 1;
+
+        // the direction of every pass of the round, true = right = next seat
+        boolean[] directions = new boolean[numPasses];
+        for(int i = 0; i < numPasses; i++){
+            directions[i] = gameClient.getRules().getDirection(i);
+        }
+
+        // the hands passed to each seat, from the player to the left (passing right) and to the right (passing left)
+        // room is left for a STOP from every player on top of the hands
+        ArrayList<ArrayBlockingQueue<Card[]>> passedRight = new ArrayList<ArrayBlockingQueue<Card[]>>();
+        ArrayList<ArrayBlockingQueue<Card[]>> passedLeft = new ArrayList<ArrayBlockingQueue<Card[]>>();
+        for(int i = 0; i < numPlayers; i++){
+            passedRight.add(new ArrayBlockingQueue<Card[]>(numPasses + numPlayers));
+            passedLeft.add(new ArrayBlockingQueue<Card[]>(numPasses + numPlayers));
+        }
+
+        PlayerThreads.runAll(allPlayers, currPlayer -> {
+            int seat = allPlayers.indexOf(currPlayer);
+            Hand playerHand = currPlayer.getHand();
+
+            try {
+                for(int pass = 0; pass < numPasses; pass++){
+                    if(pass > 0){ // wait for the neighbour to pass the next hand
+                        Card[] passedCards = (directions[pass - 1] ? passedRight : passedLeft).get(seat).take();
+                        if(passedCards == STOP){
+                            return;
+                        }
+                        playerHand.takeCards(passedCards);
+                    }
+
+                    currPlayer.makeChoiceCard();
+                    if(currPlayer instanceof RealPlayer){
+                        ((RealPlayer)currPlayer).outputOwnDraft(false);
+                    }
+
+                    int receiver = Math.floorMod(seat + (directions[pass] ? 1 : -1), numPlayers);
+                    (directions[pass] ? passedRight : passedLeft).get(receiver).put(playerHand.getCards());
+                }
+
+                // the last card, which becomes the catch card in FinalCardState
+                Card[] lastCard = (directions[numPasses - 1] ? passedRight : passedLeft).get(seat).take();
+                if(lastCard != STOP){
+                    playerHand.setNextCards(lastCard);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopAll(passedRight, passedLeft);
+                throw new IllegalStateException("The draft of player " + currPlayer.getID() + " was interrupted.", e);
+            } catch (RuntimeException | Error e) {
+                stopAll(passedRight, passedLeft); // the neighbours would otherwise wait for this player forever
+                throw e;
+            }
+        });
+
+        ViewDraftState.outputDrafts(allPlayers); // everybody has drafted, the drafts no longer change
+
+        return GameStates.FINAL_CARD;
+    }
+
+    /**
+     * Tells every seat to stop drafting, by passing STOP after the hands already passed to it.
+     * Used when a player fails, so that the state ends with the failure instead of waiting
+     * for a hand that is never passed.
+     * 
+     * @param passedRight The hands passed to each seat by the player to the left.
+     * @param passedLeft The hands passed to each seat by the player to the right.
+     */
+    private static void stopAll(ArrayList<ArrayBlockingQueue<Card[]>> passedRight, ArrayList<ArrayBlockingQueue<Card[]>> passedLeft){
+        for(int i = 0; i < passedRight.size(); i++){
+            passedRight.get(i).offer(STOP);
+            passedLeft.get(i).offer(STOP);
+        }
+    }
+}
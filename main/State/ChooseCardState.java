@@ -2,6 +2,7 @@ package State;
 
 import java.util.ArrayList;
 
+import GameClient.GameClient;
 import Player.*;
 
 /**
@@ -14,25 +15,24 @@ import Player.*;
  */
 public class ChooseCardState extends GameState{
     /**
-     * Runs the state. Goes through each player and allows them to
-     * choose a card to draft.
+     * Runs the state. Lets all players choose a card to draft at the same time,
+     * and waits until every player has chosen.
      */
-    public GameState runState(){
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();     
+    public GameState runState(GameClient gameClient){
+        ArrayList<Player> allPlayers = gameClient.getPlayers();     
 
-        for(int i = 0; i < allPlayers.size(); i++){
-            Player currPlayer = allPlayers.get(i);
+        int cardsPerPlayer = gameClient.getRules().getCardsPerPlayer();
 
+        // All players choose at the same time, the state is done when the slowest player has chosen
+        PlayerThreads.runAll(allPlayers, currPlayer -> {
             // Gives each player the cards they were passed by their neighbor
-            if(currPlayer.cardsLeft() < this.currGameClient.getRules().getCardsPerPlayer()){
-                currPlayer.getHand().setCards(currPlayer.getHand().getNextCards());
+            if(currPlayer.cardsLeft() < cardsPerPlayer){
+                currPlayer.getHand().takeNextCards();
             }
 
             currPlayer.makeChoiceCard();
-        }
+        });
 
-        ViewDraftState newState = new ViewDraftState();
-        newState.setGameClient(this.currGameClient);
-        return newState;
+        return GameStates.VIEW_DRAFT;
     }
 }
\ No newline at end of file
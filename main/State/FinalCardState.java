@@ -2,6 +2,7 @@ package State;
 
 import java.util.ArrayList;
 
+import GameClient.GameClient;
 import Player.*;
 /**
  * Handles passing each player passing their last card to their neighbor
@@ -15,20 +16,18 @@ public class FinalCardState extends GameState{
     /**
      * Runs the state. Goes through each player and chooses their catch card.
      */
-    public GameState runState(){
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();
+    public GameState runState(GameClient gameClient){
+        ArrayList<Player> allPlayers = gameClient.getPlayers();
 
         for(Player currPlayer : allPlayers){
             Hand playerHand = currPlayer.getHand();
-            playerHand.setCards(currPlayer.getHand().getNextCards());
-            playerHand.setCatchCard(playerHand.getCards()[0]);
+            playerHand.takeNextCards();
+            playerHand.setCatchCard(playerHand.getCard(0));
             if(currPlayer instanceof RealPlayer){
                 ((RealPlayer)currPlayer).outputOwnDraft(true);
             }
         }
 
-        RoundOverState newState = new RoundOverState();
-        newState.setGameClient(this.currGameClient);
-        return newState;
+        return GameStates.ROUND_OVER;
     }
 }
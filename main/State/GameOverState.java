@@ -2,6 +2,7 @@ package State;
 
 import java.util.ArrayList;
 
+import GameClient.GameClient;
 import Player.*;
 
 /**
@@ -19,8 +20,8 @@ public class GameOverState extends GameState {
      * score who won is decided based on who had the highest throw-catch
      * score.
      */
-    public GameState runState(){
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();
+    public GameState runState(GameClient gameClient){
+        ArrayList<Player> allPlayers = gameClient.getPlayers();
         Player winningPlayer = null;
         int highestScore = 0;
         int highestScoreThrowCatch = 0;
@@ -7,30 +7,21 @@ import Exception.OptionalScoreException;
  * An abstract class representing a state that the game can find itself in.
  * Used to implement a state pattern.
  * 
+ * A state does not keep anything about the game it is running, everything is
+ * kept by the GameClient it is given. Only one handler of each state is needed,
+ * and the handlers in GameStates are shared by all games.
+ * 
  * @author Andreas Söderman
  * @version 1.0
  * @since 1.0
  */
 public abstract class GameState {
     /**
-     * The current game client being used.
-     */
-    protected GameClient currGameClient;
-
-    /**
-     * Sets the GameClient being used.
-     * 
-     * @param gameClient The GameClient being used.
-     */
-    public void setGameClient(GameClient gameClient){
-        this.currGameClient = gameClient;
-    }
-
-    /**
-     * Runs the current game state.
+     * Runs the current game state for a game.
      * 
-     * @return The next game state.
+     * @param gameClient The game.
+     * @return The next game state, or null when the game is over.
      * @throws OptionalScoreException If a player tries to score the same optional action twice.
      */
-    public abstract GameState runState() throws OptionalScoreException;
+    public abstract GameState runState(GameClient gameClient) throws OptionalScoreException;
 }
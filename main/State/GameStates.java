@@ -0,0 +1,78 @@
+package State;
+
+import GameClient.GameClient;
+import Exception.OptionalScoreException;
+
+/**
+ * The states of a game. Every state has a single handler, shared by all games, and
+ * each handler returns one of the others as the next state. Moving from one state
+ * to the next does not create any objects.
+ * 
+ * The states of a round are:
+ * ShuffleAndDeal, then ChooseCard, ViewDraft and PassCards until one card is left
+ * (or AsyncDraft when the players draft asynchronously), then FinalCard and RoundOver.
+ * The game ends with GameOver after the last round.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+public final class GameStates {
+    /**
+     * Shuffles the deck and deals the cards.
+     */
+    public static final ShuffleAndDealState SHUFFLE_AND_DEAL = new ShuffleAndDealState();
+
+    /**
+     * Lets the players choose a card to draft.
+     */
+    public static final ChooseCardState CHOOSE_CARD = new ChooseCardState();
+
+    /**
+     * Shows the players what everyone has drafted.
+     */
+    public static final ViewDraftState VIEW_DRAFT = new ViewDraftState();
+
+    /**
+     * Passes the cards to the next player.
+     */
+    public static final PassCardsState PASS_CARDS = new PassCardsState();
+
+    /**
+     * Lets the players draft all their cards asynchronously.
+     */
+    public static final AsyncDraftState ASYNC_DRAFT = new AsyncDraftState();
+
+    /**
+     * Passes the last card, which becomes the catch card.
+     */
+    public static final FinalCardState FINAL_CARD = new FinalCardState();
+
+    /**
+     * Scores the round.
+     */
+    public static final RoundOverState ROUND_OVER = new RoundOverState();
+
+    /**
+     * Decides who won.
+     */
+    public static final GameOverState GAME_OVER = new GameOverState();
+
+    /**
+     * Only holds the states.
+     */
+    private GameStates(){}
+
+    /**
+     * Plays a game from the first round until it is over.
+     * 
+     * @param gameClient The game.
+     * @throws OptionalScoreException If a player tries to score the same optional action twice.
+     */
+    public static void play(GameClient gameClient) throws OptionalScoreException{
+        GameState gameState = SHUFFLE_AND_DEAL;
+        while(gameState != null){
+            gameState = gameState.runState(gameClient);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package State;
 
 import java.util.ArrayList;
 
+import GameClient.GameClient;
 import Player.*;
 
 /**
@@ -14,42 +15,27 @@ import Player.*;
 public class PassCardsState extends GameState {
     /**
      * Runs the state. Gets the direction that cards are moved in from the
-     * rules.
+     * rules. The direction is turned into an offset between the seats of the
+     * players, and every player hands their cards to the player at that offset
+     * without the cards being copied.
      */
-    public GameState runState(){
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();
-        boolean direction = currGameClient.getRules().getDirection();
-
-        for(int i = 0; i < allPlayers.size(); i++){
-            Player currPlayer = allPlayers.get(i);
-            Player passPlayer = null;
-
-            if (direction){ // true if passing cards right
-                if(i != allPlayers.size()-1){
-                    passPlayer = allPlayers.get(i+1);
-                } else {
-                    passPlayer = allPlayers.get(0);
-                }
-            } else {
-                if(i != 0){
-                    passPlayer = allPlayers.get(i-1);
-                } else {
-                    passPlayer = allPlayers.get(allPlayers.size()-1);
-                }
-            }
-
-            passPlayer.getHand().setNextCards(currPlayer.getHand().getCards());
+    public GameState runState(GameClient gameClient){
+        ArrayList<Player> allPlayers = gameClient.getPlayers();
+        int numPlayers = allPlayers.size();
+        int offset = gameClient.getRules().getDirection(gameClient.nextPass()) ? 1 : -1; // right = next seat, left = previous seat
+
+        for(int i = 0; i < numPlayers; i++){
+            Hand passHand = allPlayers.get(Math.floorMod(i + offset, numPlayers)).getHand();
+            allPlayers.get(i).getHand().passCards(passHand);
         }
 
         GameState newState;
         
-        if(allPlayers.get(0).getHand().getCards().length > 1){
-            newState = new ChooseCardState();
+        if(allPlayers.get(0).getHand().getNumCards() > 1){
+            newState = GameStates.CHOOSE_CARD;
         } else {
-            newState = new FinalCardState();
+            newState = GameStates.FINAL_CARD;
         }
-
-        newState.setGameClient(this.currGameClient);
         return newState;
     }
 }
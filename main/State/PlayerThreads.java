@@ -0,0 +1,100 @@
+package State;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import Player.Player;
+import Exception.OptionalScoreException;
+
+/**
+ * Runs a task for every player at the same time, so a state does not have to wait for
+ * one player to answer before asking the next. Most of the time the threads are waiting
+ * for a player on the network or the console, so every player gets a thread of its own.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+class PlayerThreads {
+    /**
+     * The threads used for the players. Threads are reused between states and never
+     * stop the program from exiting.
+     */
+    private static final ExecutorService threads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "PlayerThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A task run for a single player that scores the player.
+     */
+    interface ScoringTask {
+        /**
+         * Runs the task for a player.
+         * 
+         * @param player The player.
+         * @throws OptionalScoreException If the player tries to score the same optional action twice.
+         */
+        void run(Player player) throws OptionalScoreException;
+    }
+
+    /**
+     * Runs a task for every player at the same time and waits until it has finished for all players.
+     * 
+     * @param players The players.
+     * @param task The task to run for each player.
+     */
+    static void runAll(ArrayList<Player> players, Consumer<Player> task){
+        ArrayList<CompletableFuture<Void>> running = new ArrayList<CompletableFuture<Void>>();
+        for(Player player : players){
+            running.add(CompletableFuture.runAsync(() -> task.accept(player), threads));
+        }
+
+        // every player has finished before anything is thrown
+        CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+
+        for(CompletableFuture<Void> future : running){
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if(cause instanceof RuntimeException){
+                    throw (RuntimeException)cause;
+                } else if(cause instanceof Error){
+                    throw (Error)cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs a task that scores every player at the same time and waits until it has finished for all players.
+     * 
+     * @param players The players.
+     * @param task The task to run for each player.
+     * @throws OptionalScoreException If the task failed for a player with an OptionalScoreException. If the
+     * task failed for several players the exception of the player first in the list is thrown.
+     */
+    static void runAllScoring(ArrayList<Player> players, ScoringTask task) throws OptionalScoreException{
+        try {
+            runAll(players, player -> {
+                try {
+                    task.run(player);
+                } catch (OptionalScoreException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof OptionalScoreException){
+                throw (OptionalScoreException)e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package State;
 
 import java.util.ArrayList;
 
+import GameClient.GameClient;
 import Player.*;
 import Exception.OptionalScoreException;
 
@@ -15,32 +16,31 @@ import Exception.OptionalScoreException;
 public class RoundOverState extends GameState  {
     /**
      * Runs the state. Handles asking players if they want to score their optional actions and updating visited regions.
+     * All players are asked at the same time, and the visited regions are updated once every player has been scored.
      */
-    public GameState runState() throws OptionalScoreException{
-        int round = this.currGameClient.getRoundsLeft();
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();
+    public GameState runState(GameClient gameClient) throws OptionalScoreException{
+        int round = gameClient.getRoundsLeft();
+        ArrayList<Player> allPlayers = gameClient.getPlayers();
         GameState newState;
 
         if(round > 1) {
-            this.currGameClient.decRounds();
-            newState = new ShuffleAndDealState();
+            gameClient.decRounds();
+            newState = GameStates.SHUFFLE_AND_DEAL;
         } else {
-            newState = new GameOverState(); 
+            newState = GameStates.GAME_OVER; 
         } 
 
-        // Ask about scoring activites
-        for(Player currPlayer : allPlayers) {
+        // Ask all players about scoring activites at once, each player is scored as soon as they answer
+        PlayerThreads.runAllScoring(allPlayers, currPlayer -> {
             if(currPlayer instanceof RealPlayer){
                 ((RealPlayer)currPlayer).endOfRoundOutput();
             } else if (currPlayer instanceof BotPlayer){
                 ((BotPlayer)currPlayer).endOfRound();
             }
             currPlayer.endOfRoundReset();
-        }
+        });
 
-        this.currGameClient.updateVisitedRegions();
-
-        newState.setGameClient(this.currGameClient);
+        gameClient.updateVisitedRegions(); // all players have been scored
         return newState;
     }
 }
@@ -3,6 +3,7 @@ package State;
 import java.util.ArrayList;
 
 import Cards.*;
+import GameClient.GameClient;
 import Player.*;
 
 /**
@@ -17,13 +18,13 @@ public class ShuffleAndDealState extends GameState {
      * Runs the State. Shuffles the cards of the current deck and deals the newly shuffled
      * cards to the players.
      */
-    public GameState runState(){
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();
-        int numOfCards = this.currGameClient.getRules().getCardsPerPlayer();
+    public GameState runState(GameClient gameClient){
+        ArrayList<Player> allPlayers = gameClient.getPlayers();
+        int numOfCards = gameClient.getRules().getCardsPerPlayer();
 
         // Shuffle cards
-        this.currGameClient.shuffleDeck();
-        ArrayList<Card> deck = this.currGameClient.getDeck();
+        gameClient.shuffleDeck();
+        ArrayList<Card> deck = gameClient.getDeck();
         Card[] deckArr = deck.toArray(new Card[deck.size()]);
 
         // Deal cards 
@@ -36,8 +37,8 @@ public class ShuffleAndDealState extends GameState {
             posInDeck += numOfCards;
         }
 
-        GameState newState = new ChooseCardState();
-        newState.setGameClient(this.currGameClient);
-        return newState;
+        gameClient.resetPasses();
+
+        return gameClient.isAsyncDraft() ? GameStates.ASYNC_DRAFT : GameStates.CHOOSE_CARD;
     }
 }
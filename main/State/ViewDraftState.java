@@ -1,6 +1,7 @@
 package State;
 
 import java.util.ArrayList;
+import GameClient.GameClient;
 import Player.*;
 
 /**
@@ -15,9 +16,19 @@ public class ViewDraftState extends GameState {
      * Runs the state. Outputs the drafted cards by each player and shows
      * all their own cards (including throw card).
      */
-    public GameState runState(){
-        ArrayList<Player> allPlayers = currGameClient.getPlayers();
+    public GameState runState(GameClient gameClient){
+        outputDrafts(gameClient.getPlayers());
 
+        return GameStates.PASS_CARDS;
+    }
+
+    /**
+     * Outputs the drafted cards by each player to every real player, and shows
+     * them all their own cards (including throw card).
+     * 
+     * @param allPlayers All players in the game.
+     */
+    static void outputDrafts(ArrayList<Player> allPlayers){
         for(Player currPlayer : allPlayers){
             if(currPlayer instanceof RealPlayer){
                 for(Player draftPlayer : allPlayers){
@@ -27,9 +38,5 @@ public class ViewDraftState extends GameState {
                 ((RealPlayer)currPlayer).outputOwnDraft(false);
             }
         }
-
-        PassCardsState newState = new PassCardsState();
-        newState.setGameClient(this.currGameClient);
-        return newState;
     }
 }
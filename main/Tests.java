@@ -5,6 +5,11 @@ import static org.junit.Assert.*;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.nio.file.*;
 import java.io.ByteArrayInputStream;
 import java.io.PrintStream;
@@ -36,7 +41,11 @@ public class Tests {
         ArrayList<Card> cards = new ArrayList<Card>();
 
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(dirName)) {
-            for (Path entry: stream) {
+            ArrayList<Path> entries = new ArrayList<Path>();
+            stream.forEach(entries::add);
+            Collections.sort(entries); // the order of a directory listing depends on the file system
+
+            for (Path entry: entries) {
                 Card card = this.cardsFactory.createCard(entry.getFileName().toString());
                 cards.add(card);
             }
@@ -51,6 +60,16 @@ public class Tests {
         shuffledCards = cards.toArray(new Card[cards.size()]);
     }
 
+    /**
+     * Creates a Scoresheet for the cards and scoring spec of Boomerang Australia, as a game would.
+     */
+    private ScoresheetAustralia newScoresheet() throws Exception{
+        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        playerScore.setCardIndex(CardRegistry.getSnapshot(cardsFactory).getIndex());
+        playerScore.setScoringSpec(ScoringSpec.get(cardsFactory));
+        return playerScore;
+    }
+
     /**
      * Tests the lower limit of rule 1
      */
@@ -169,9 +188,8 @@ public class Tests {
 
         ArrayList<Card> deck = gameClient.getDeck();
 
-        GameState gameState = new ShuffleAndDealState();
-        gameState.setGameClient(gameClient);
-        gameState.runState();
+        GameState gameState = GameStates.SHUFFLE_AND_DEAL;
+        gameState.runState(gameClient);
 
         assertNotEquals(deck, unShuffledCard);
 
@@ -235,9 +253,8 @@ public class Tests {
         Player realPlayer = gameClient.getPlayers().get(0);
         Player botPlayer = gameClient.getPlayers().get(1);
 
-        GameState gameState = new ShuffleAndDealState();
-        gameState.setGameClient(gameClient);
-        gameState = gameState.runState();
+        GameState gameState = GameStates.SHUFFLE_AND_DEAL;
+        gameState = gameState.runState(gameClient);
 
         Card[] cardsForHand = new Card[7];
         System.arraycopy(unShuffledCard, 0, cardsForHand, 0, 7);
@@ -246,7 +263,7 @@ public class Tests {
         System.arraycopy(unShuffledCard, 7, cardsForHand, 0, 7);
         botPlayer.setNewHand(cardsForHand);
 
-        gameState = gameState.runState();
+        gameState = gameState.runState(gameClient);
 
         Card realPlayerThrowCard = realPlayer.getHand().getThrowCard();
         Card botPlayerThrowCard = botPlayer.getHand().getThrowCard();
@@ -259,13 +276,13 @@ public class Tests {
         String realPlayerOutput = "Player 0 has drafted \nDrafted cards: ";
         String botPlayerOutput = "Player 1 has drafted \nDrafted cards: ";
 
-        gameState = gameState.runState(); // ViewDraftState
+        gameState = gameState.runState(gameClient); // ViewDraftState
 
         while(true){ // Runs step 6 and 7 on loop until there is only one card left, showing that step 6, 7 and 8 works
             Card[] realPlayerCardsFirstRound = realPlayer.getHand().getCards();   
             Card[] botPlayerCardsFirstRound = botPlayer.getHand().getCards();  
             
-            gameState = gameState.runState(); // PassCardsState
+            gameState = gameState.runState(gameClient); // PassCardsState
 
             if(gameState instanceof FinalCardState){ // When next state is FinalCard
                 break;
@@ -278,8 +295,8 @@ public class Tests {
             assertArrayEquals(realPlayerCardsFirstRound, botPlayerCardsSecondRound);
             assertArrayEquals(botPlayerCardsFirstRound, realPlayerCardsSecondRound);
 
-            gameState = gameState.runState(); // ChooseCardState
-            gameState = gameState.runState(); // ViewDraftState
+            gameState = gameState.runState(gameClient); // ChooseCardState
+            gameState = gameState.runState(gameClient); // ViewDraftState
 
             Card[] realPlayerSelectedCards = realPlayer.getHand().getSelectedCards();
             Card[] botPlayerSelectedCards = botPlayer.getHand().getSelectedCards();
@@ -296,7 +313,7 @@ public class Tests {
         Card realPlayerFinalCardBeforePass = realPlayer.getHand().getCards()[0];
         Card botPlayerFinalCardBeforePass = botPlayer.getHand().getCards()[0];
 
-        gameState = gameState.runState(); // FinalCard
+        gameState = gameState.runState(gameClient); // FinalCard
 
         Card realPlayerCatchCard = realPlayer.getHand().getCatchCard();
         Card botPlayerCatchCard = botPlayer.getHand().getCatchCard();
@@ -314,7 +331,7 @@ public class Tests {
         Card[] cards = Arrays.copyOfRange(unShuffledCard, 0, 6);
 
         Hand playerHand = new Hand(cards);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        ScoresheetAustralia playerScore = this.newScoresheet();
 
         Player player = new BotPlayer(0, /*playerHand,*/ playerScore, new StandardBehavior());
         player.setNewHand(cards);
@@ -333,17 +350,15 @@ public class Tests {
      */
     @Test
     public void test10bI() throws Exception{
-        ArrayList<String> visitedRegions = new ArrayList<String>(); // regions visited in previous rounds
-        ArrayList<String> newVisitedRegions = new ArrayList<String>(); // regions visited in previous rounds
-
         Card[] cards = {unShuffledCard[21], unShuffledCard[24], unShuffledCard[10], unShuffledCard[6], unShuffledCard[1], unShuffledCard[2], unShuffledCard[3]};
 
         Hand playerHand = new Hand(cards);
         Hand playerHand2 = new Hand(cards);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
-        ScoresheetAustralia playerScore2 = new ScoresheetAustralia();
-        playerScore.setVisitedRegions(visitedRegions, newVisitedRegions);
-        playerScore2.setVisitedRegions(visitedRegions, newVisitedRegions);
+        ScoresheetAustralia playerScore = this.newScoresheet();
+        ScoresheetAustralia playerScore2 = this.newScoresheet();
+        RegionClaims regionClaims = new RegionClaims(); // the regions visited in this and previous rounds
+        playerScore.setRegionClaims(regionClaims, 0);
+        playerScore2.setRegionClaims(regionClaims, 1);
 
         playerHand.selectCard(cards[0]); // choose throw card (first card)
         playerHand2.selectCard(cards[0]); // choose throw card (first card)
@@ -369,10 +384,7 @@ public class Tests {
 
         assertEquals(playerScore.getTouristScore(), 10); // first person to finish region 
 
-        for(String region : newVisitedRegions){ // update regions at end of round
-            visitedRegions.add(region);
-            newVisitedRegions = new ArrayList<String>();
-        }
+        regionClaims.endRound(); // update regions at end of round
 
         playerScore2.setRoundScore(playerHand, false);
 
@@ -384,17 +396,15 @@ public class Tests {
      */
     @Test
     public void test10bII() throws Exception{
-        ArrayList<String> visitedRegions = new ArrayList<String>(); // regions visited in previous rounds
-        ArrayList<String> newVisitedRegions = new ArrayList<String>(); // regions visited in previous rounds
-
         Card[] cards = {unShuffledCard[21], unShuffledCard[24], unShuffledCard[10], unShuffledCard[6], unShuffledCard[1], unShuffledCard[2], unShuffledCard[3]};
 
         Hand playerHand = new Hand(cards);
         Hand playerHand2 = new Hand(cards);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
-        ScoresheetAustralia playerScore2 = new ScoresheetAustralia();
-        playerScore.setVisitedRegions(visitedRegions, newVisitedRegions);
-        playerScore2.setVisitedRegions(visitedRegions, newVisitedRegions);
+        ScoresheetAustralia playerScore = this.newScoresheet();
+        ScoresheetAustralia playerScore2 = this.newScoresheet();
+        RegionClaims regionClaims = new RegionClaims(); // the regions visited in this and previous rounds
+        playerScore.setRegionClaims(regionClaims, 0);
+        playerScore2.setRegionClaims(regionClaims, 1);
 
         playerHand.selectCard(cards[0]); // choose throw card (first card)
         playerHand2.selectCard(cards[0]); // choose throw card (first card)
@@ -431,7 +441,7 @@ public class Tests {
         Card[] cards = Arrays.copyOfRange(unShuffledCard, 0, 7);
 
         Hand playerHand = new Hand(cards);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        ScoresheetAustralia playerScore = this.newScoresheet();
 
         playerHand.selectCard(cards[0]); // choose throw card (first card)
 
@@ -459,7 +469,7 @@ public class Tests {
         Card[] cards = Arrays.copyOfRange(unShuffledCard, 0, 11);
 
         Hand playerHand = new Hand(cards);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        ScoresheetAustralia playerScore = this.newScoresheet();
 
         playerHand.selectCard(cards[4]); // choose throw card (first card)
 
@@ -491,9 +501,9 @@ public class Tests {
         Hand playerHand = new Hand(cards1);
         Hand playerHand2 = new Hand(cards2);
         Hand playerHand3 = new Hand(cards3);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
-        ScoresheetAustralia playerScore2 = new ScoresheetAustralia();
-        ScoresheetAustralia playerScore3 = new ScoresheetAustralia();
+        ScoresheetAustralia playerScore = this.newScoresheet();
+        ScoresheetAustralia playerScore2 = this.newScoresheet();
+        ScoresheetAustralia playerScore3 = this.newScoresheet();
 
         playerHand.selectCard(cards1[0]); // choose throw card (first card)
         playerHand2.selectCard(cards2[0]); // choose throw card (first card)
@@ -532,10 +542,10 @@ public class Tests {
      * Rule 10e working
      */
     @Test
-    public void test10e(){ // write exception for trying to score activity more than once
+    public void test10e() throws Exception{ // write exception for trying to score activity more than once
         Card[] cards = {unShuffledCard[21], unShuffledCard[27], unShuffledCard[25], unShuffledCard[1], unShuffledCard[23], unShuffledCard[15]}; // six cards, all Indigenous Culture
         Hand playerHand = new Hand(cards);
-        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        ScoresheetAustralia playerScore = this.newScoresheet();
 
         playerHand.selectCard(cards[0]); // choose throw card (first card)
 
@@ -615,10 +625,8 @@ public class Tests {
 
         botPlayerHand.setCatchCard(cards2[6]); // choose catch card
 
-        GameState gameState = new RoundOverState();
-
-        gameState.setGameClient(gameClient);
-        gameState = gameState.runState();
+        GameState gameState = GameStates.ROUND_OVER;
+        gameState = gameState.runState(gameClient);
 
         String output = outputStreamCaptor.toString().trim();
 
@@ -648,7 +656,7 @@ public class Tests {
         GameClient gameClient = gameBuilder.getClient();
 
         ArrayList<Player> players = gameClient.getPlayers();
-        ScoresheetAustralia botPlayerScore = new ScoresheetAustralia();
+        ScoresheetAustralia botPlayerScore = this.newScoresheet();
         Player botPlayer = new BotPlayer(1, botPlayerScore, new StandardBehavior());
         botPlayer.setNewHand(cards2);
         players.remove(1);
@@ -685,12 +693,10 @@ public class Tests {
 
         botPlayerHand.setCatchCard(cards2[6]); // choose catch card
 
-        GameState gameState = new RoundOverState();
-
-        gameState.setGameClient(gameClient);
-        gameState = gameState.runState();
+        GameState gameState = GameStates.ROUND_OVER;
+        gameState = gameState.runState(gameClient);
         botPlayerScore.addTotalScore(4);
-        gameState = gameState.runState();
+        gameState = gameState.runState(gameClient);
 
         String output = outputStreamCaptor.toString().trim();
 
@@ -698,6 +704,896 @@ public class Tests {
         assertTrue(output.contains("YOU LOSE"));
     }
 
+    /**
+     * The compiled card catalog contains the same cards as the JSON files
+     */
+    @Test
+    public void testCardCatalog() throws Exception{
+        Path folder = Files.createTempDirectory("Test");
+        Path catalog = CardCatalog.getCatalogPath(cardsFactory, folder);
+
+        try {
+            assertEquals(catalog, CardCatalogCompiler.compile(cardsFactory, folder));
+            ArrayList<Card> cards = CardCatalog.readCatalog(cardsFactory, folder);
+
+            assertNotNull(cards);
+            assertEquals(unShuffledCard.length, cards.size());
+            for(int i = 0; i < unShuffledCard.length; i++){
+                assertEquals(unShuffledCard[i].getAllInfo(), cards.get(i).getAllInfo());
+            }
+        } finally {
+            Files.deleteIfExists(catalog);
+            Files.deleteIfExists(folder);
+        }
+    }
+
+    /**
+     * All games share the same card instances and cards are compared by value
+     */
+    @Test
+    public void testCardRegistry() throws Exception{
+        GameClientBuilder gameBuilder = new GameClientBuilder();
+        gameBuilder.setNumPlayers(1);
+        gameBuilder.setNumBots(1);
+
+        ArrayList<Card> deck1 = gameBuilder.getClient().getDeck();
+        ArrayList<Card> deck2 = gameBuilder.getClient().getDeck();
+
+        assertNotSame(deck1, deck2);
+        for(int i = 0; i < deck1.size(); i++){
+            assertSame(deck1.get(i), deck2.get(i));
+            assertEquals(unShuffledCard[i], deck1.get(i)); // loaded separately, but the same card
+        }
+
+        assertEquals('M', unShuffledCard[0].getSite());
+        assertEquals(12, unShuffledCard[0].getID());
+        assertNotEquals(unShuffledCard[0], unShuffledCard[1]);
+
+        Hand hand = new Hand(new Card[]{deck1.get(0), deck1.get(1)});
+        hand.selectCard(unShuffledCard[0]); // a different instance of the same card
+        assertEquals(1, hand.getCards().length);
+    }
+
+    /**
+     * Reloading the cards creates a new snapshot, but a game keeps the snapshot it started with
+     */
+    @Test
+    public void testCardSnapshot() throws Exception{
+        GameClientBuilder gameBuilder = new GameClientBuilder();
+        gameBuilder.setNumPlayers(1);
+        gameBuilder.setNumBots(1);
+
+        GameClient oldGame = gameBuilder.getClient();
+        CardSnapshot oldSnapshot = oldGame.getCardSnapshot();
+        CardSnapshot newSnapshot = CardCatalog.await(CardRegistry.reload(cardsFactory));
+        gameBuilder.setWatchCards(true);
+        GameClient newGame = gameBuilder.getClient();
+
+        assertTrue(newSnapshot.getVersion() > oldSnapshot.getVersion());
+        assertSame(oldSnapshot, oldGame.getCardSnapshot());
+        assertTrue(newGame.getCardSnapshot().getVersion() >= newSnapshot.getVersion()); // the cards are being watched, so they may have been reloaded again
+        for(int i = 0; i < unShuffledCard.length; i++){
+            assertSame(oldSnapshot.getCards().get(i), oldGame.getCardSnapshot().getCard(unShuffledCard[i].getID()));
+            assertEquals(oldSnapshot.getCards().get(i), newSnapshot.getCards().get(i));
+        }
+    }
+
+    /**
+     * The attributes of a card are resolved to enums when it is loaded
+     */
+    @Test
+    public void testCardAttributes(){
+        AustraliaCard barossaValley = (AustraliaCard)unShuffledCard[0];
+
+        assertEquals(AustraliaCard.Region.SOUTH_AUSTRALIA, barossaValley.getRegionType());
+        assertEquals(AustraliaCard.Collection.NONE, barossaValley.getCollectionType());
+        assertEquals(AustraliaCard.Animal.KOALAS, barossaValley.getAnimalType());
+        assertEquals(AustraliaCard.Activity.BUSHWALKING, barossaValley.getActivityType());
+        assertEquals(AustraliaCard.Collection.SOUVENIRS, ((AustraliaCard)unShuffledCard[3]).getCollectionType());
+        assertEquals("", barossaValley.getCollection());
+    }
+
+    /**
+     * A card can be packed into an int and unpacked again
+     */
+    @Test
+    public void testCardCodec() throws Exception{
+        CardSnapshot snapshot = CardRegistry.getSnapshot(cardsFactory);
+        for(Card card : unShuffledCard){
+            AustraliaCard australiaCard = (AustraliaCard)card;
+            int packed = CardCodec.encode(card);
+
+            assertEquals(card.getID(), CardCodec.site(packed));
+            assertEquals(card.getNumber(), CardCodec.number(packed));
+            assertEquals(australiaCard.getRegionType(), CardCodec.region(packed));
+            assertEquals(australiaCard.getCollectionType(), CardCodec.collection(packed));
+            assertEquals(australiaCard.getAnimalType(), CardCodec.animal(packed));
+            assertEquals(australiaCard.getActivityType(), CardCodec.activity(packed));
+            assertEquals(card, CardCodec.decode(packed, snapshot));
+        }
+
+        assertArrayEquals(unShuffledCard, CardCodec.decode(CardCodec.encode(unShuffledCard), snapshot));
+    }
+
+    /**
+     * Every value of an attribute is mapped to a mask of the cards with the value
+     */
+    @Test
+    public void testCardIndex() throws Exception{
+        CardIndex index = CardRegistry.getSnapshot(cardsFactory).getIndex();
+        long allCards = CardIndex.mask(unShuffledCard);
+
+        int koalas = 0;
+        for(Card card : unShuffledCard){
+            if(((AustraliaCard)card).getAnimalType() == AustraliaCard.Animal.KOALAS){
+                koalas++;
+            }
+            assertEquals(card.getID(), index.getSiteID(card.getSite()));
+        }
+
+        assertEquals(allCards, index.getAllCards());
+        assertEquals(koalas, CardIndex.count(allCards, index.getAnimal(AustraliaCard.Animal.KOALAS)));
+        assertEquals(0xF000L, index.getRegion(AustraliaCard.Region.SOUTH_AUSTRALIA)); // sites M, N, O and P
+        assertEquals(0, CardIndex.count(CardIndex.mask(unShuffledCard[0]), index.getRegion(AustraliaCard.Region.TASMANIA)));
+    }
+
+    /**
+     * A hand keeps the order of its cards and the masks of the cards it holds and has selected
+     */
+    @Test
+    public void testHandMasks(){
+        Card[] cards = new Card[4];
+        System.arraycopy(unShuffledCard, 0, cards, 0, 4);
+        Hand hand = new Hand(cards);
+
+        hand.selectCard(cards[1]); // throw card
+        hand.selectCard(cards[3].getSite());
+
+        assertEquals(2, hand.getNumCards());
+        assertSame(cards[0], hand.getCard(0));
+        assertSame(cards[2], hand.getCard(1));
+        assertSame(cards[2], hand.getCardFromSite(cards[2].getSite()));
+        assertNull(hand.getCardFromSite(cards[1].getSite()));
+        assertEquals(CardIndex.mask(cards[0]) | CardIndex.mask(cards[2]), hand.getCardMask());
+        assertEquals(CardIndex.mask(cards[1]) | CardIndex.mask(cards[3]), hand.getSelectedCardMask());
+        assertArrayEquals(new Card[]{cards[3], cards[1]}, hand.getSelectedCards());
+    }
+
+    /**
+     * Passing cards moves the cards of every hand to the next seat without changing them
+     */
+    @Test
+    public void testPassCards(){
+        Hand[] hands = new Hand[3];
+        Card[][] cards = new Card[3][3];
+        for(int i = 0; i < hands.length; i++){
+            System.arraycopy(unShuffledCard, i*3, cards[i], 0, 3);
+            hands[i] = new Hand(cards[i]);
+        }
+
+        for(int i = 0; i < hands.length; i++){
+            hands[i].passCards(hands[Math.floorMod(i + 1, hands.length)]);
+        }
+        for(Hand hand : hands){
+            hand.takeNextCards();
+        }
+
+        for(int i = 0; i < hands.length; i++){
+            int fromSeat = Math.floorMod(i - 1, hands.length);
+            assertArrayEquals(cards[fromSeat], hands[i].getCards());
+            assertEquals(CardIndex.mask(cards[fromSeat]), hands[i].getCardMask());
+        }
+    }
+
+    /**
+     * A region is completed when the last of its sites is visited, even if the sites are visited in different rounds
+     */
+    @Test
+    public void testRegionCompletedOverRounds() throws Exception{
+        ArrayList<Card> southAustralia = new ArrayList<Card>();
+        for(Card card : unShuffledCard){
+            if(((AustraliaCard)card).getRegionType() == AustraliaCard.Region.SOUTH_AUSTRALIA){
+                southAustralia.add(card);
+            }
+        }
+
+        RegionClaims regionClaims = new RegionClaims();
+        ScoresheetAustralia playerScore = this.newScoresheet();
+        playerScore.setRegionClaims(regionClaims, 0);
+
+        for(int round = 0; round < 2; round++){
+            Card[] cards = {southAustralia.get(round*2), southAustralia.get(round*2 + 1)};
+            Hand playerHand = new Hand(cards);
+            playerHand.selectCard(cards[0]); // throw card
+            playerHand.setCatchCard(cards[1]);
+
+            playerScore.setRoundScore(playerHand, false);
+            assertTrue(playerScore.siteVisited(cards[0]) && playerScore.siteVisited(cards[1]));
+        }
+
+        assertEquals(5, playerScore.getTouristScore()); // two new sites and the region
+        assertEquals(Arrays.asList("South Australia"), regionClaims.getNewRegions());
+    }
+
+    /**
+     * The live score is updated for every drafted card and matches the score for the round
+     */
+    @Test
+    public void testLiveScore() throws Exception{
+        Card[] cards = Arrays.copyOfRange(unShuffledCard, 0, 7);
+        ScoresheetAustralia playerScore = this.newScoresheet();
+        playerScore.setRegionClaims(new RegionClaims(), 0);
+        Player player = new BotPlayer(0, playerScore, new StandardBehavior());
+        player.setNewHand(cards);
+        Hand playerHand = player.getHand();
+
+        int previousScore = playerScore.getLiveScore();
+        for(int i = 0; i < 6; i++){
+            playerHand.selectCard(cards[i]);
+            assertTrue(playerScore.getLiveScore() > previousScore); // every card is a new site
+            previousScore = playerScore.getLiveScore();
+        }
+        playerHand.setCatchCard(cards[6]);
+
+        int liveScore = playerScore.getLiveScore();
+        playerScore.setRoundScore(playerHand, false);
+
+        assertEquals(playerScore.getThrowCatchScoreRound() + playerScore.getTouristScore() + playerScore.getCollectionScore() + playerScore.getAnimalScore(), liveScore);
+    }
+
+    /**
+     * The marginal score of a card is the points drafting it adds, and asking for it changes nothing
+     */
+    @Test
+    public void testMarginalScores() throws Exception{
+        Card[] cards = Arrays.copyOfRange(unShuffledCard, 0, 7);
+        ScoresheetAustralia playerScore = this.newScoresheet();
+        playerScore.setRegionClaims(new RegionClaims(), 0);
+        Player player = new BotPlayer(0, playerScore, new StandardBehavior());
+        player.setNewHand(cards);
+        Hand playerHand = player.getHand();
+        playerHand.selectCard(cards[0]); // throw card
+        playerHand.selectCard(cards[1]);
+        playerHand.selectCard(cards[2]);
+
+        Card[] candidates = playerHand.getCards();
+        int liveScore = playerScore.getLiveScore();
+        int[] marginalScores = playerScore.marginalScores(playerHand, candidates);
+        assertEquals(liveScore, playerScore.getLiveScore());
+
+        Hand untalliedHand = new Hand(cards); // not tallied, so the draft is read from the hand
+        for(int j = 0; j < 3; j++){
+            untalliedHand.selectCard(cards[j]);
+        }
+        assertArrayEquals(marginalScores, playerScore.marginalScores(untalliedHand, candidates));
+
+        for(int i = 0; i < candidates.length; i++){
+            ScoresheetAustralia otherScore = this.newScoresheet();
+            otherScore.setRegionClaims(new RegionClaims(), 0);
+            Player otherPlayer = new BotPlayer(0, otherScore, new StandardBehavior());
+            otherPlayer.setNewHand(cards);
+            for(int j = 0; j < 3; j++){
+                otherPlayer.getHand().selectCard(cards[j]);
+            }
+            otherPlayer.getHand().selectCard(candidates[i]);
+
+            assertEquals(otherScore.getLiveScore() - liveScore, marginalScores[i]);
+        }
+    }
+
+    /**
+     * Scoring drafts in a batch gives the same scores as scoring each hand
+     */
+    @Test
+    public void testBatchScoring() throws Exception{
+        String[] activities = {"Swimming", "Sightseeing", "Bushwalking", "Indigenous Culture"};
+        int numDrafts = 4, cardsPerDraft = 7;
+        int[] drafts = new int[numDrafts * cardsPerDraft];
+        int[] chosenActivities = new int[numDrafts];
+
+        ScoresheetAustraliaBatch batch = new ScoresheetAustraliaBatch(CardRegistry.getSnapshot(cardsFactory).getIndex(), ScoringSpec.get(cardsFactory), cardsPerDraft);
+        for(int d = 0; d < numDrafts; d++){
+            for(int slot = 0; slot < cardsPerDraft; slot++){
+                drafts[slot * numDrafts + d] = CardCodec.encode(shuffledCards[d * cardsPerDraft + slot]);
+            }
+            chosenActivities[d] = ScoresheetAustraliaBatch.getActivityOrdinal(activities[d]);
+        }
+        ScoresheetAustraliaBatch.Scores scores = new ScoresheetAustraliaBatch.Scores(numDrafts);
+        batch.score(drafts, numDrafts, null, 0, chosenActivities, scores);
+
+        for(int d = 0; d < numDrafts; d++){
+            Card[] cards = Arrays.copyOfRange(shuffledCards, d * cardsPerDraft, (d + 1) * cardsPerDraft);
+            ScoresheetAustralia playerScore = this.newScoresheet();
+            playerScore.setRegionClaims(new RegionClaims(), 0);
+            Hand hand = new Hand(cards);
+            for(int slot = 0; slot < cardsPerDraft - 1; slot++){
+                hand.selectCard(cards[slot]);
+            }
+            hand.setCatchCard(cards[cardsPerDraft - 1]);
+            hand.setRoundOptional(activities[d]);
+            playerScore.setRoundScore(hand, true);
+
+            assertEquals(playerScore.getThrowCatchScore(), scores.throwCatch[d]);
+            assertEquals(playerScore.getTouristScore(), scores.tourist[d]);
+            assertEquals(playerScore.getCollectionScore(), scores.collection[d]);
+            assertEquals(playerScore.getAnimalScore(), scores.animal[d]);
+            assertEquals(playerScore.getOptionalScore(), scores.activity[d]);
+            assertEquals(playerScore.getTotalScore(), scores.getTotal(d));
+        }
+    }
+
+    /**
+     * All batch kernels give the same scores, also for players that have visited sites and claimed regions before
+     */
+    @Test
+    public void testBatchKernels() throws Exception{
+        int numDrafts = 19, cardsPerDraft = 7;
+        int[] drafts = new int[numDrafts * cardsPerDraft];
+        long[] visitedSites = new long[numDrafts];
+        int[] activities = new int[numDrafts];
+        for(int d = 0; d < numDrafts; d++){
+            for(int slot = 0; slot < cardsPerDraft; slot++){
+                drafts[slot * numDrafts + d] = CardCodec.encode(shuffledCards[(d * cardsPerDraft + slot) % shuffledCards.length]);
+            }
+            int visited = ((d + 1) * cardsPerDraft) % (shuffledCards.length - 4);
+            visitedSites[d] = CardIndex.mask(Arrays.copyOfRange(shuffledCards, visited, visited + 4));
+            activities[d] = d % 6 - 1;
+        }
+
+        CardIndex index = CardRegistry.getSnapshot(cardsFactory).getIndex();
+        boolean vectorModule = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(vectorModule, ScoresheetAustraliaBatch.Kernel.VECTOR.isAvailable());
+        ScoresheetAustraliaBatch.Kernel expectedVector = vectorModule ? ScoresheetAustraliaBatch.Kernel.VECTOR : ScoresheetAustraliaBatch.Kernel.LANES;
+        assertEquals(expectedVector, new ScoresheetAustraliaBatch(index, ScoringSpec.get(cardsFactory), cardsPerDraft, ScoresheetAustraliaBatch.Kernel.VECTOR).getKernel());
+
+        ScoresheetAustraliaBatch.Scores scalar = new ScoresheetAustraliaBatch.Scores(numDrafts);
+        ScoresheetAustraliaBatch.Scores other = new ScoresheetAustraliaBatch.Scores(numDrafts);
+        for(int[] chosenActivities : new int[][]{activities, null}){
+            for(int claimedRegions : new int[]{0, 0x15}){
+                new ScoresheetAustraliaBatch(index, ScoringSpec.get(cardsFactory), cardsPerDraft, ScoresheetAustraliaBatch.Kernel.SCALAR).score(drafts, numDrafts, visitedSites, claimedRegions, chosenActivities, scalar);
+                for(ScoresheetAustraliaBatch.Kernel kernel : ScoresheetAustraliaBatch.Kernel.values()){
+                    new ScoresheetAustraliaBatch(index, ScoringSpec.get(cardsFactory), cardsPerDraft, kernel).score(drafts, numDrafts, visitedSites, claimedRegions, chosenActivities, other);
+
+                    assertArrayEquals(scalar.throwCatch, other.throwCatch);
+                    assertArrayEquals(scalar.tourist, other.tourist);
+                    assertArrayEquals(scalar.collection, other.collection);
+                    assertArrayEquals(scalar.animal, other.animal);
+                    assertArrayEquals(scalar.activity, other.activity);
+                }
+            }
+        }
+    }
+
+    /**
+     * The scoring rules are compiled from the spec of the edition, and a spec naming an unknown animal, missing a field or with a negative bonus is reported
+     */
+    @Test
+    public void testScoringSpec() throws Exception{
+        ScoringSpec spec = ScoringSpec.get(cardsFactory);
+        assertSame(spec, ScoringSpec.get(cardsFactory));
+        assertEquals(5, spec.getCollectionPoints(AustraliaCard.Collection.SOUVENIRS));
+        assertEquals(9, spec.getAnimalPairPoints(AustraliaCard.Animal.PLATYPUSES));
+        assertEquals(15, spec.getActivityPoints(6));
+        assertEquals(0, spec.getActivityPoints(7));
+        assertEquals(14, spec.getCollectionScore(7));
+        assertEquals(8, spec.getCollectionScore(8));
+
+        Path specFile = Files.createTempFile("Test", ".scoring.JSON");
+        try {
+            Files.write(specFile, "{\"collections\": {}, \"collectionDoubleLimit\": 0, \"animalPairs\": {\"Koalas\": 20}, \"activities\": [], \"regionBonus\": 0}".getBytes());
+            ScoresheetAustralia playerScore = this.newScoresheet();
+            playerScore.setScoringSpec(ScoringSpec.load(specFile.toString()));
+            playerScore.setRegionClaims(new RegionClaims(), 0);
+            Hand hand = new Hand(unShuffledCard);
+            for(char site : new char[]{'M', 'N', 'O'}){ // all of South Australia, Barossa Valley (M) has Koalas
+                hand.selectCard(site);
+            }
+            hand.setCatchCard(hand.getCardFromSite('P'));
+            playerScore.setRoundScore(hand, false);
+            assertEquals(4, playerScore.getTouristScore());
+            assertEquals(0, playerScore.getCollectionScore());
+
+            Files.write(specFile, "{\"collections\": {}, \"collectionDoubleLimit\": 8, \"animalPairs\": {\"Dingos\": 3}, \"activities\": [], \"regionBonus\": 3}".getBytes());
+            try {
+                ScoringSpec.load(specFile.toString());
+                fail("A spec with an unknown animal should not load");
+            } catch (Exception e) {
+                assertTrue(e.getMessage().contains(specFile.toString()));
+                assertTrue(e.getMessage().contains("Dingos"));
+            }
+
+            Files.write(specFile, "{\"collections\": {}, \"animalPairs\": {}, \"activities\": [], \"regionBonus\": 3}".getBytes());
+            try {
+                ScoringSpec.load(specFile.toString());
+                fail("A spec without a collection limit should not load");
+            } catch (Exception e) {
+                assertTrue(e.getMessage().contains("collectionDoubleLimit"));
+            }
+
+            Files.write(specFile, "{\"collections\": {}, \"collectionDoubleLimit\": 8, \"animalPairs\": {}, \"activities\": [], \"regionBonus\": -3}".getBytes());
+            try {
+                ScoringSpec.load(specFile.toString());
+                fail("A spec with a negative region bonus should not load");
+            } catch (Exception e) {
+                assertTrue(e.getMessage().contains("negative"));
+            }
+        } finally {
+            Files.deleteIfExists(specFile);
+        }
+    }
+
+    /**
+     * Regions claimed from several threads end up in the order of the seats, and only count as claimed the next round
+     */
+    @Test
+    public void testRegionClaims() throws Exception{
+        RegionClaims regionClaims = new RegionClaims();
+        String[][] completed = {{"Victoria", "Tasmania"}, {"Queensland"}, {"Tasmania", "South Australia"}};
+
+        Thread[] threads = new Thread[completed.length];
+        for(int seat = completed.length - 1; seat >= 0; seat--){ // the last seat starts first
+            final int playerSeat = seat;
+            threads[seat] = new Thread(() -> {
+                for(String region : completed[playerSeat]){
+                    regionClaims.claim(playerSeat, region);
+                }
+            });
+            threads[seat].start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+
+        assertEquals(Arrays.asList("Victoria", "Tasmania", "Queensland", "South Australia"), regionClaims.getNewRegions());
+        assertFalse(regionClaims.isClaimed("Tasmania"));
+
+        regionClaims.endRound();
+        assertTrue(regionClaims.isClaimed("Tasmania"));
+        assertEquals(0, regionClaims.getNewRegions().size());
+        assertEquals(4, regionClaims.getClaimedRegions().size());
+    }
+
+    /**
+     * At the end of a round every player is scored, and the regions completed during the round are claimed once all players are done
+     */
+    @Test
+    public void testRoundOverScoresAllPlayers() throws Exception{
+        System.setOut(new PrintStream(outputStreamCaptor));
+        System.setIn(new ByteArrayInputStream(("N" + System.getProperty("line.separator")).getBytes()));
+        GameClient gameClient = new GameClient(1, 1, new AustraliaCardsFactory(), new ScoresheetAustralia(), new StandardRules(), new StandardBehavior());
+
+        ArrayList<Card> southAustralia = new ArrayList<Card>();
+        ArrayList<Card> otherCards = new ArrayList<Card>();
+        for(Card card : unShuffledCard){
+            boolean inRegion = ((AustraliaCard)card).getRegionType() == AustraliaCard.Region.SOUTH_AUSTRALIA;
+            (inRegion ? southAustralia : otherCards).add(card);
+        }
+        southAustralia.addAll(otherCards.subList(0, 3));
+
+        Card[][] hands = {southAustralia.toArray(new Card[7]), otherCards.subList(3, 10).toArray(new Card[7])};
+        for(int i = 0; i < hands.length; i++){
+            Player player = gameClient.getPlayers().get(i);
+            player.setNewHand(hands[i]);
+            for(int j = 0; j < 6; j++){
+                player.getHand().selectCard(hands[i][j]);
+            }
+            player.getHand().setCatchCard(hands[i][6]);
+        }
+
+        GameState gameState = GameStates.ROUND_OVER;
+        gameState.runState(gameClient);
+
+        for(Player player : gameClient.getPlayers()){
+            assertTrue(player.getTotalScore() > 0);
+            assertEquals(0, player.getHand().getSelectedCards().length); // reset for the next round
+        }
+        assertTrue(gameClient.getVisitedRegions().contains("South Australia"));
+    }
+
+    /**
+     * The scoring harness finds no mismatches for the batch kernels, and reports a broken scorer with its seed
+     */
+    @Test
+    public void testScoringHarness() throws Exception{
+        CardSnapshot snapshot = CardRegistry.getSnapshot(cardsFactory);
+        ScoringSpec spec = ScoringSpec.get(cardsFactory);
+        ScoringHarness harness = new ScoringHarness(snapshot, spec, 7);
+
+        for(ScoresheetAustraliaBatch.Kernel kernel : ScoresheetAustraliaBatch.Kernel.values()){
+            ScoresheetAustraliaBatch batch = new ScoresheetAustraliaBatch(snapshot.getIndex(), spec, 7, kernel);
+            assertNull(harness.checkRandom(batch::score, 1, 100000));
+            assertNull(harness.checkExhaustive(batch::score, harness.getNumCombinations() - 50000, 50000));
+        }
+
+        ScoresheetAustraliaBatch batch = new ScoresheetAustraliaBatch(snapshot.getIndex(), spec, 7);
+        ScoringHarness.Mismatch mismatch = harness.checkRandom((drafts, numDrafts, visitedSites, claimedRegions, activities, scores) -> {
+            batch.score(drafts, numDrafts, visitedSites, claimedRegions, activities, scores);
+            scores.animal[numDrafts - 1]++;
+        }, 1, 5000);
+        assertNotNull(mismatch);
+        assertTrue(mismatch.toString().startsWith("Mismatch at seed 1, draft 1023:"));
+    }
+
+    /**
+     * All players choose their cards at the same time, so a bot does not wait for the players before it
+     */
+    @Test
+    public void testSimultaneousChoice() throws Exception{
+        CountDownLatch bothAsked = new CountDownLatch(2);
+        AtomicInteger chosenTogether = new AtomicInteger();
+
+        /**
+         * Implementation of BotBehavior that only chooses once every bot has been asked
+         */
+        class WaitingBot implements BotBehavior{
+            public Card chooseThrowCard(Card[] choices){
+                bothAsked.countDown();
+                try {
+                    if(bothAsked.await(10, TimeUnit.SECONDS)){
+                        chosenTogether.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return choices[0];
+            }
+
+            public Card chooseCard(Card[] choices){
+                return choices[0];
+            }
+
+            public Response scoreOptional(Choice Question){
+                return new Response(Question, "N");
+            }
+        }
+
+        System.setOut(new PrintStream(outputStreamCaptor));
+        System.setIn(new ByteArrayInputStream(("" + unShuffledCard[0].getSite() + System.getProperty("line.separator")).getBytes()));
+        GameClient gameClient = new GameClient(1, 2, new AustraliaCardsFactory(), new ScoresheetAustralia(), new StandardRules(), new WaitingBot());
+
+        for(int i = 0; i < 3; i++){
+            gameClient.getPlayers().get(i).setNewHand(Arrays.copyOfRange(unShuffledCard, i * 7, (i + 1) * 7));
+        }
+
+        GameState gameState = GameStates.CHOOSE_CARD;
+        gameState.runState(gameClient);
+
+        assertEquals(2, chosenTogether.get());
+        for(int i = 0; i < 3; i++){
+            assertEquals(unShuffledCard[i * 7], gameClient.getPlayers().get(i).getHand().getThrowCard());
+        }
+    }
+
+    /**
+     * Drafting asynchronously gives every player the same cards as drafting one pick at a time
+     */
+    @Test
+    public void testAsyncDraft() throws Exception{
+        /**
+         * Implementation of BotBehavior that is completely predicable, always chooses the first card in its hand
+         */
+        class FirstCardBot implements BotBehavior{
+            public Card chooseThrowCard(Card[] choices){
+                return choices[0];
+            }
+
+            public Card chooseCard(Card[] choices){
+                return choices[0];
+            }
+
+            public Response scoreOptional(Choice Question){
+                return new Response(Question, "N");
+            }
+        }
+
+        System.setOut(new PrintStream(outputStreamCaptor));
+        String input = "";
+        for(int i = 0; i < 7; i++){ // the real player picks the first site of the alphabet that is in their hand
+            for(char site : "ABCDEFGHIJKLMNOPQRSTUVWXYZ*-".toCharArray()){
+                input += site + System.getProperty("line.separator");
+            }
+        }
+
+        ArrayList<ArrayList<String>> drafts = new ArrayList<ArrayList<String>>();
+        for(boolean asyncDraft : new boolean[]{false, true}){
+            System.setIn(new ByteArrayInputStream(input.getBytes()));
+            GameClient gameClient = new GameClient(1, 3, new AustraliaCardsFactory(), new ScoresheetAustralia(), new StandardRules(), new FirstCardBot());
+            gameClient.setAsyncDraft(asyncDraft);
+            for(int i = 0; i < 4; i++){
+                gameClient.getPlayers().get(i).setNewHand(Arrays.copyOfRange(unShuffledCard, i * 7, (i + 1) * 7));
+            }
+
+            GameState gameState = asyncDraft ? GameStates.ASYNC_DRAFT : GameStates.CHOOSE_CARD;
+            while(!(gameState instanceof FinalCardState)){
+                gameState = gameState.runState(gameClient);
+            }
+            gameState.runState(gameClient);
+
+            ArrayList<String> draft = new ArrayList<String>();
+            for(Player player : gameClient.getPlayers()){
+                draft.add(player.getHand().getInfoDraftComplete());
+                assertEquals(7, player.getHand().getSelectedCards().length);
+            }
+            drafts.add(draft);
+        }
+
+        assertEquals(drafts.get(0), drafts.get(1));
+    }
+
+    /**
+     * Games simulated without players or states are dealt from the seed and scored like normal games.
+     */
+    @Test
+    public void testGameSimulator() throws Exception{
+        class FirstCardBot implements BotBehavior{
+            public Card chooseThrowCard(Card[] choices){
+                return choices[0];
+            }
+
+            public Card chooseCard(Card[] choices){
+                return choices[0];
+            }
+
+            public Response scoreOptional(Choice Question){
+                return new Response(Question, "Y");
+            }
+        }
+
+        CardSnapshot snapshot = CardRegistry.getSnapshot(cardsFactory);
+        ScoringSpec spec = ScoringSpec.get(cardsFactory);
+        BotBehavior bot = new FirstCardBot();
+        Simulation.GameSimulator simulator = new Simulation.GameSimulator(snapshot, spec, new StandardRules(), ScoresheetAustralia::new, bot, bot, bot, bot);
+
+        Simulation.GameSimulator.Results results = simulator.playGames(1000, 7);
+        Simulation.GameSimulator.Results again = simulator.playGames(1000, 7);
+        assertEquals(1000, results.getNumGames());
+
+        int wins = 0;
+        for(int seat = 0; seat < 4; seat++){
+            assertEquals(results.getTotalScore(seat), again.getTotalScore(seat));
+            assertTrue(results.getAverageScore(seat) > 0);
+            wins += results.getWins(seat);
+        }
+        assertEquals(1000, wins);
+        assertArrayEquals(simulator.playGame(new SplittableRandom(7)), simulator.playGame(new SplittableRandom(7)));
+
+        SplittableRandom seeds = new SplittableRandom(7);
+        seeds.split();
+        int[] secondGame = simulator.playGame(seeds.split());
+        Simulation.GameSimulator.Results firstGame = simulator.playGames(1, 7);
+        Simulation.GameSimulator.Results twoGames = simulator.playGames(2, 7);
+        for(int seat = 0; seat < 4; seat++){
+            assertEquals(firstGame.getTotalScore(seat) + secondGame[seat], twoGames.getTotalScore(seat));
+        }
+
+        try {
+            new Simulation.GameSimulator(snapshot, spec, new StandardRules(), ScoresheetAustralia::new, bot, bot, bot, bot, bot);
+            fail("Five players were allowed");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("between 2 and 4"));
+        }
+    }
+
+    /**
+     * A bot is asked about the optional action it drafted the most of, the first one drafted on a tie, and not about one its Scoresheet has already scored
+     */
+    @Test
+    public void testBotOptionalChoice() throws Exception{
+        BotBehavior keepBot = new StandardBehavior(){
+            public boolean keepOptional(String optional, int numCards){
+                return true;
+            }
+        };
+        Hand hand = new Hand(Arrays.copyOfRange(shuffledCards, 0, 7));
+        while(hand.getNumCards() > 1){
+            hand.selectCard(hand.getCard(0));
+        }
+        hand.setCatchCard(hand.getCard(0));
+        Scoresheet playerScore = this.newScoresheet();
+        playerScore.setRegionClaims(new RegionClaims(), 0);
+
+        Card[] drafted = hand.getSelectedCards();
+        String expected = "";
+        int mostCards = 0;
+        for(Card card : drafted){
+            if(card.getOptional().equals("")){
+                continue;
+            }
+            int numCards = (int) Arrays.stream(drafted).filter(other -> other.getOptional().equals(card.getOptional())).count();
+            if(numCards > mostCards){
+                expected = card.getOptional();
+                mostCards = numCards;
+            }
+        }
+
+        assertFalse(BotPlayer.chooseOptional(hand, playerScore, new StandardBehavior()));
+        assertTrue(BotPlayer.chooseOptional(hand, playerScore, keepBot));
+        assertEquals(expected, hand.getRoundOptional());
+
+        playerScore.setRoundScore(hand, true);
+        assertTrue(BotPlayer.chooseOptional(hand, playerScore, keepBot));
+        assertNotEquals(expected, hand.getRoundOptional());
+    }
+
+    /**
+     * A Scoresheet that was never given the index of its cards or its scoring spec fails with a clear message instead of loading them itself
+     */
+    @Test
+    public void testScoresheetWithoutIndex() throws Exception{
+        Hand hand = new Hand(Arrays.copyOfRange(unShuffledCard, 0, 2));
+        hand.selectCard(unShuffledCard[0]);
+        hand.setCatchCard(unShuffledCard[1]);
+        ScoresheetAustralia playerScore = new ScoresheetAustralia();
+        playerScore.setScoringSpec(ScoringSpec.get(cardsFactory));
+        playerScore.setRegionClaims(new RegionClaims(), 0);
+
+        try {
+            playerScore.setRoundScore(hand, false);
+            fail("A Scoresheet without a card index scored a round");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("setCardIndex"));
+        }
+
+        playerScore = new ScoresheetAustralia();
+        playerScore.setCardIndex(CardRegistry.getSnapshot(cardsFactory).getIndex());
+        playerScore.setRegionClaims(new RegionClaims(), 0);
+        assertNull(playerScore.getScoringSpec());
+        try {
+            playerScore.setRoundScore(hand, false);
+            fail("A Scoresheet without a scoring spec scored a round");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("setScoringSpec"));
+        }
+    }
+
+    /**
+     * Games with the same seed are dealt the same cards and the bots make the same choices.
+     */
+    @Test
+    public void testSeededGames() throws Exception{
+        ArrayList<ArrayList<String>> games = new ArrayList<ArrayList<String>>();
+        for(long seed : new long[]{42, 42, 43}){
+            GameClientBuilder builder = new GameClientBuilder();
+            builder.setNumPlayers(1);
+            builder.setNumBots(3);
+            builder.setSeed(seed);
+            GameClient gameClient = builder.getClient();
+
+            ArrayList<String> played = new ArrayList<String>();
+            for(int round = 0; round < 4; round++){
+                gameClient.shuffleDeck();
+                for(Card card : gameClient.getDeck()){
+                    played.add(card.getName());
+                }
+            }
+            for(int i = 1; i < 4; i++){
+                gameClient.getPlayers().get(i).setNewHand(Arrays.copyOfRange(unShuffledCard, 0, 7));
+                Hand hand = gameClient.getPlayers().get(i).getHand();
+                while(hand.getNumCards() > 0){
+                    gameClient.getPlayers().get(i).makeChoiceCard();
+                }
+                for(Card card : hand.getSelectedCards()){
+                    played.add(card.getName());
+                }
+            }
+            games.add(played);
+        }
+        assertEquals(games.get(0), games.get(1));
+        assertNotEquals(games.get(0), games.get(2));
+
+        CardSnapshot snapshot = CardRegistry.getSnapshot(cardsFactory);
+        BotBehavior bot = new StandardBehavior();
+        Simulation.GameSimulator simulator = new Simulation.GameSimulator(snapshot, ScoringSpec.get(cardsFactory), new StandardRules(), ScoresheetAustralia::new, bot, bot, bot);
+        assertArrayEquals(simulator.playGame(new SplittableRandom(5)), simulator.playGame(new SplittableRandom(5)));
+    }
+
+    /**
+     * When a player fails during an asynchronous draft the other players stop and the state ends with the failure.
+     */
+    @Test(timeout = 20000)
+    public void testAsyncDraftFailure() throws Exception{
+        AtomicBoolean failed = new AtomicBoolean(false);
+
+        /**
+         * Implementation of BotBehavior where the first bot to pick its second card fails.
+         */
+        class FailingBot implements BotBehavior{
+            public Card chooseThrowCard(Card[] choices){
+                return choices[0];
+            }
+
+            public Card chooseCard(Card[] choices){
+                if(failed.compareAndSet(false, true)){
+                    throw new IllegalArgumentException("The bot failed");
+                }
+                return choices[0];
+            }
+
+            public Response scoreOptional(Choice Question){
+                return new Response(Question, "N");
+            }
+        }
+
+        System.setOut(new PrintStream(outputStreamCaptor));
+        String input = "";
+        for(int i = 0; i < 7; i++){
+            for(char site : "ABCDEFGHIJKLMNOPQRSTUVWXYZ*-".toCharArray()){
+                input += site + System.getProperty("line.separator");
+            }
+        }
+        System.setIn(new ByteArrayInputStream(input.getBytes()));
+
+        GameClient gameClient = new GameClient(1, 3, new AustraliaCardsFactory(), new ScoresheetAustralia(), new StandardRules(), new FailingBot());
+        gameClient.setAsyncDraft(true);
+        for(int i = 0; i < 4; i++){
+            gameClient.getPlayers().get(i).setNewHand(Arrays.copyOfRange(unShuffledCard, i * 7, (i + 1) * 7));
+        }
+
+        try {
+            GameStates.ASYNC_DRAFT.runState(gameClient);
+            fail("The draft did not fail");
+        } catch (IllegalArgumentException e) {
+            assertEquals("The bot failed", e.getMessage());
+        }
+    }
+
+    /**
+     * The pass direction comes from the pass number, so one rules object and the state handlers can be shared by many games.
+     */
+    @Test
+    public void testStatelessStates() throws Exception{
+        StandardRules sharedRules = new StandardRules();
+        boolean[] directions = {true, true, true, true, true, false}; // right for every card but the last
+        for(int round = 0; round < 2; round++){
+            for(int pass = 0; pass < 6; pass++){
+                assertEquals(directions[pass], sharedRules.getDirection(pass));
+            }
+        }
+
+        ArrayList<GameClient> games = new ArrayList<GameClient>();
+        for(int i = 0; i < 2; i++){
+            GameClient gameClient = new GameClient(1, 3, new AustraliaCardsFactory(), new ScoresheetAustralia(), sharedRules, new StandardBehavior());
+            assertSame(GameStates.CHOOSE_CARD, GameStates.SHUFFLE_AND_DEAL.runState(gameClient));
+            games.add(gameClient);
+        }
+
+        // the two games pick and pass their cards in turn, each keeps its own count of the passes
+        for(int pass = 0; pass < 6; pass++){
+            for(GameClient gameClient : games){
+                gameClient.getPlayers().forEach(player -> player.getHand().selectCard(player.getHand().getCard(0)));
+                GameState next = GameStates.PASS_CARDS.runState(gameClient);
+                gameClient.getPlayers().forEach(player -> player.getHand().takeNextCards());
+                assertSame(pass < 5 ? GameStates.CHOOSE_CARD : GameStates.FINAL_CARD, next);
+            }
+        }
+        for(GameClient gameClient : games){
+            assertEquals(6, gameClient.nextPass());
+            gameClient.resetPasses();
+            assertEquals(0, gameClient.nextPass());
+        }
+    }
+
+    /**
+     * A malformed card file is reported with the name of the file and the field
+     */
+    @Test
+    public void testMalformedCard() throws Exception{
+        Path folder = Files.createTempDirectory("Test");
+        Path brokenCard = folder.resolve("Broken card.JSON");
+        Files.write(brokenCard, "{\"name\": \"Broken\", \"site\": \"A\", \"number\": \"eight\"}".getBytes());
+
+        try {
+            AustraliaCard.load(brokenCard);
+            fail("The card should not have been loaded");
+        } catch (Exception e) {
+            assertTrue(e.getMessage().contains("Broken card.JSON"));
+            assertTrue(e.getMessage().contains("\"number\""));
+        } finally {
+            Files.deleteIfExists(brokenCard);
+            Files.deleteIfExists(folder);
+        }
+    }
+
     /**
      * Set the input from the player used for a test
      */
@@ -0,0 +1,80 @@
+package Player;
+
+import java.util.Arrays;
+
+import Cards.CardCodec;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vector kernel of ScoresheetAustraliaBatch. Counts the sites, collections, animals and
+ * activities of as many drafts as fit in a vector register at a time, using the Vector API.
+ * The site IDs fit in 5 bits, so the sites of a draft are collected in an int and merged
+ * with the sites visited before the draft afterwards. The scores are then worked out from
+ * the counts the same way as in the lane kernel.
+ * 
+ * This class needs the incubator module jdk.incubator.vector, so it is kept apart from the
+ * rest of the code and is only loaded by ScoresheetAustraliaBatch when the module is present.
+ * 
+ * @author Andreas Söderman
+ * @version 1.0
+ * @since 1.0
+ */
+class ScoresheetAustraliaVector implements ScoresheetAustraliaBatch.LoadedKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void score(ScoresheetAustraliaBatch batch, int[] drafts, int numDrafts, long[] visitedSites, int claimedRegions, int[] activities, ScoresheetAustraliaBatch.Scores scores){
+        int[] siteMasks = scores.siteMasks;
+        int[] collectionCounts = scores.collectionCounts;
+        int[] animalCounts = scores.animalCounts;
+        int[] activityCounts = scores.activityCounts;
+        int catchSlot = (batch.cardsPerDraft - 1) * numDrafts;
+        int bound = SPECIES.loopBound(numDrafts);
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+
+        Arrays.fill(siteMasks, 0, numDrafts, 0);
+        Arrays.fill(collectionCounts, 0, numDrafts, 0);
+        Arrays.fill(animalCounts, 0, numDrafts, 0);
+        Arrays.fill(activityCounts, 0, numDrafts, 0);
+
+        for(int row = 0; row <= catchSlot; row += numDrafts){
+            int d = 0;
+            for(; d < bound; d += SPECIES.length()){
+                IntVector code = IntVector.fromArray(SPECIES, drafts, row + d);
+                IntVector site = code.lanewise(VectorOperators.LSHR, CardCodec.SITE_SHIFT).and(CardCodec.SITE_MASK);
+                IntVector collection = code.lanewise(VectorOperators.LSHR, CardCodec.COLLECTION_SHIFT).and(CardCodec.FIELD_MASK).mul(ScoresheetAustraliaBatch.COUNT_BITS);
+                IntVector animal = code.lanewise(VectorOperators.LSHR, CardCodec.ANIMAL_SHIFT).and(CardCodec.FIELD_MASK).mul(ScoresheetAustraliaBatch.COUNT_BITS);
+
+                IntVector.fromArray(SPECIES, siteMasks, d).or(one.lanewise(VectorOperators.LSHL, site)).intoArray(siteMasks, d);
+                IntVector.fromArray(SPECIES, collectionCounts, d).add(one.lanewise(VectorOperators.LSHL, collection)).intoArray(collectionCounts, d);
+                IntVector.fromArray(SPECIES, animalCounts, d).add(one.lanewise(VectorOperators.LSHL, animal)).intoArray(animalCounts, d);
+
+                if(activities != null){
+                    IntVector activity = code.lanewise(VectorOperators.LSHR, CardCodec.ACTIVITY_SHIFT).and(CardCodec.FIELD_MASK);
+                    VectorMask<Integer> chosen = activity.compare(VectorOperators.EQ, IntVector.fromArray(SPECIES, activities, d));
+                    IntVector.fromArray(SPECIES, activityCounts, d).add(one, chosen).intoArray(activityCounts, d);
+                }
+            }
+            for(; d < numDrafts; d++){ // the drafts that do not fill a whole vector
+                int code = drafts[row + d];
+                siteMasks[d] |= 1 << CardCodec.site(code);
+                collectionCounts[d] += 1 << (CardCodec.collectionOrdinal(code) * ScoresheetAustraliaBatch.COUNT_BITS);
+                animalCounts[d] += 1 << (CardCodec.animalOrdinal(code) * ScoresheetAustraliaBatch.COUNT_BITS);
+                if(activities != null && CardCodec.activityOrdinal(code) == activities[d]){
+                    activityCounts[d]++;
+                }
+            }
+        }
+
+        long[] sites = scores.sites;
+        for(int d = 0; d < numDrafts; d++){
+            long before = visitedSites == null ? 0 : visitedSites[d];
+            sites[d] = before | Integer.toUnsignedLong(siteMasks[d]);
+        }
+
+        batch.finishLanes(drafts, numDrafts, visitedSites, claimedRegions, activities, scores);
+    }
+}